@@ -0,0 +1,75 @@
+package com.yugantar.portfolio.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yugantar.portfolio.entity.ResumeEntity;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the metadata of the currently active resume so public downloads do not
+ * query the database on every hit. The content itself is served from the
+ * BlobStore and the content hash doubles as a strong ETag.
+ *
+ * Every invalidation bumps a generation counter and a loaded value is only
+ * used while its generation is current, so a load that races with an
+ * invalidation can never leave a stale entry behind.
+ */
+@Component
+@Slf4j
+public class ActiveResumeCache {
+
+	private final AtomicLong generation = new AtomicLong();
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Get the active resume, loading it on a miss
+	 * 
+	 * @param loader loads the active resume metadata from the database
+	 * @return active resume or empty if none is active
+	 */
+	public Optional<ResumeEntity> get(Supplier<Optional<ResumeEntity>> loader) {
+		long current = generation.get();
+		Snapshot cached = snapshot;
+		if (cached != null && cached.generation() == current) {
+			return cached.resume();
+		}
+
+		log.debug("Active resume cache miss, loading from database");
+		Optional<ResumeEntity> loaded = loader.get();
+		snapshot = new Snapshot(current, loaded);
+		return loaded;
+	}
+
+	/**
+	 * Invalidate the cached resume once the current transaction commits, or
+	 * immediately when no transaction is active
+	 */
+	public void invalidateAfterCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidate();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				invalidate();
+			}
+		});
+	}
+
+	public void invalidate() {
+		generation.incrementAndGet();
+		snapshot = null;
+		log.debug("Active resume cache invalidated");
+	}
+
+	private record Snapshot(long generation, Optional<ResumeEntity> resume) {
+	}
+}
@@ -0,0 +1,314 @@
+package com.yugantar.portfolio.cache;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.yugantar.portfolio.storage.BlobStore;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the content of frequently served blobs (resumes, profile photos and
+ * their derivatives) in direct ByteBuffers, outside the Java heap, so hot
+ * downloads neither touch the BlobStore nor add to GC pressure.
+ *
+ * Blobs are keyed by content hash and never change, so entries cannot go
+ * stale and need no invalidation; a deleted blob is no longer referenced by
+ * any row and simply ages out.
+ *
+ * A blob is admitted only on its second full download within the recent miss
+ * history, so one-off downloads and Range probes never push hot entries out.
+ * Misses are always served from the BlobStore (sendfile where possible) and
+ * an admitted blob is loaded in the background, never on a request thread.
+ *
+ * Responses lease an entry while writing it. An evicted entry keeps counting
+ * against the byte budget until its last lease is released, and its buffer is
+ * then freed at once rather than whenever the GC gets to it, so the off-heap
+ * memory held by the cache stays within blob.cache.max-size.
+ */
+@Component
+@Slf4j
+public class BlobBufferCache {
+
+	// How many recently missed keys are remembered for the second-hit rule
+	private static final int MISS_HISTORY = 1024;
+
+	private final BlobStore blobStore;
+	private final TaskExecutor loadExecutor;
+	private final long maxBytes;
+	private final long maxEntryBytes;
+
+	// Access-ordered, so iteration starts at the least recently used entry
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final LinkedHashMap<String, Boolean> missHistory = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > MISS_HISTORY;
+		}
+	};
+	private final Set<String> loading = new HashSet<>();
+	// Bytes of cached entries, evicted entries still leased and loads in progress
+	private long usedBytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public BlobBufferCache(BlobStore blobStore, TaskExecutor blobCacheExecutor, MeterRegistry meterRegistry,
+			@Value("${blob.cache.max-size:32MB}") DataSize maxSize,
+			@Value("${blob.cache.max-entry-size:4MB}") DataSize maxEntrySize) {
+		this.blobStore = blobStore;
+		this.loadExecutor = blobCacheExecutor;
+		this.maxBytes = maxSize.toBytes();
+		this.maxEntryBytes = Math.min(maxEntrySize.toBytes(), maxBytes);
+
+		FunctionCounter.builder("blob.cache.requests", this, cache -> cache.stats().hits()).tag("result", "hit")
+				.register(meterRegistry);
+		FunctionCounter.builder("blob.cache.requests", this, cache -> cache.stats().misses()).tag("result", "miss")
+				.register(meterRegistry);
+		FunctionCounter.builder("blob.cache.evictions", this, cache -> cache.stats().evictions())
+				.register(meterRegistry);
+		Gauge.builder("blob.cache.size", this, cache -> cache.stats().usedBytes()).baseUnit("bytes")
+				.register(meterRegistry);
+		Gauge.builder("blob.cache.entries", this, cache -> cache.stats().entries()).register(meterRegistry);
+	}
+
+	/**
+	 * Record a request for a blob
+	 *
+	 * @param key   blob key
+	 * @param size  blob size in bytes
+	 * @param admit whether a miss counts towards admission; false for Range
+	 *              requests
+	 * @return true if the blob is cached and can be leased
+	 */
+	public boolean lookup(String key, long size, boolean admit) {
+		synchronized (this) {
+			if (entries.get(key) != null) {
+				hits++;
+				return true;
+			}
+			misses++;
+			if (!admit || size > maxEntryBytes || loading.contains(key)) {
+				return false;
+			}
+			if (missHistory.remove(key) == null) {
+				missHistory.put(key, Boolean.TRUE);
+				return false;
+			}
+			if (!reserve(size)) {
+				return false;
+			}
+			loading.add(key);
+		}
+
+		try {
+			loadExecutor.execute(() -> load(key, (int) size));
+		} catch (TaskRejectedException e) {
+			log.debug("Blob cache load queue is full, not caching {}", key);
+			synchronized (this) {
+				loading.remove(key);
+				usedBytes -= size;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Lease the cached content of a blob. The lease must be closed once the
+	 * content has been written.
+	 *
+	 * @return lease, or null if the blob is not cached (any more)
+	 */
+	public synchronized Lease lease(String key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		entry.leases++;
+		return new Lease(entry);
+	}
+
+	public synchronized Stats stats() {
+		return new Stats(hits, misses, evictions, entries.size(), usedBytes, maxBytes);
+	}
+
+	/**
+	 * Make room for a new entry, evicting least recently used ones
+	 *
+	 * @return false if the budget is taken by entries still being written
+	 */
+	private boolean reserve(long size) {
+		Iterator<Entry> eldest = entries.values().iterator();
+		while (usedBytes + size > maxBytes && eldest.hasNext()) {
+			Entry entry = eldest.next();
+			eldest.remove();
+			evictions++;
+			entry.evicted = true;
+			if (entry.leases == 0) {
+				free(entry);
+			}
+		}
+		if (usedBytes + size > maxBytes) {
+			return false;
+		}
+		usedBytes += size;
+		return true;
+	}
+
+	private synchronized void release(Entry entry) {
+		entry.leases--;
+		if (entry.evicted && entry.leases == 0) {
+			free(entry);
+		}
+	}
+
+	private void free(Entry entry) {
+		usedBytes -= entry.buffer.capacity();
+		DirectBuffers.free(entry.buffer);
+	}
+
+	/**
+	 * Read a blob straight into a direct buffer, without staging it in a heap
+	 * array when the blob is a local file. Runs on the load executor; the bytes
+	 * were reserved by the caller.
+	 */
+	private void load(String key, int size) {
+		ByteBuffer buffer = null;
+		try {
+			buffer = ByteBuffer.allocateDirect(size);
+			Optional<Path> file = blobStore.localPath(key);
+			try (ReadableByteChannel channel = file.isPresent()
+					? FileChannel.open(file.get(), StandardOpenOption.READ)
+					: Channels.newChannel(blobStore.open(key))) {
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0) {
+						throw new IOException("Blob " + key + " ended after " + buffer.position() + " of " + size
+								+ " bytes");
+					}
+				}
+			}
+			buffer.flip();
+		} catch (IOException | RuntimeException | OutOfMemoryError e) {
+			log.warn("Failed to cache blob {}", key, e);
+			synchronized (this) {
+				loading.remove(key);
+				usedBytes -= size;
+			}
+			if (buffer != null) {
+				DirectBuffers.free(buffer);
+			}
+			return;
+		}
+
+		synchronized (this) {
+			loading.remove(key);
+			entries.put(key, new Entry(buffer));
+		}
+		log.debug("Cached blob {} ({} bytes)", key, size);
+	}
+
+	/**
+	 * Point-in-time cache statistics
+	 */
+	public record Stats(long hits, long misses, long evictions, int entries, long usedBytes, long maxBytes) {
+	}
+
+	/**
+	 * Access to a cached blob for the duration of one write
+	 */
+	public final class Lease implements AutoCloseable {
+
+		private final Entry entry;
+		private boolean closed;
+
+		private Lease(Entry entry) {
+			this.entry = entry;
+		}
+
+		/**
+		 * Read-only view of the content, valid until the lease is closed
+		 */
+		public ByteBuffer buffer() {
+			return entry.buffer.asReadOnlyBuffer();
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				release(entry);
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		private final ByteBuffer buffer;
+		private int leases;
+		private boolean evicted;
+
+		private Entry(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+	}
+
+	/**
+	 * Frees direct buffers through sun.misc.Unsafe.invokeCleaner, which the JDK
+	 * exports for exactly this. Where it is not available, buffers are left to
+	 * the GC.
+	 */
+	private static final class DirectBuffers {
+
+		private static final Object UNSAFE;
+		private static final Method INVOKE_CLEANER;
+
+		static {
+			Object unsafe = null;
+			Method invokeCleaner = null;
+			try {
+				Class<?> type = Class.forName("sun.misc.Unsafe");
+				Field field = type.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				unsafe = field.get(null);
+				invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				log.info("Direct buffers cannot be freed explicitly, leaving them to the GC: {}", e.toString());
+			}
+			UNSAFE = unsafe;
+			INVOKE_CLEANER = invokeCleaner;
+		}
+
+		static void free(ByteBuffer buffer) {
+			if (INVOKE_CLEANER == null) {
+				return;
+			}
+			try {
+				INVOKE_CLEANER.invoke(UNSAFE, buffer);
+			} catch (ReflectiveOperationException e) {
+				log.debug("Failed to free direct buffer", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.yugantar.portfolio.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Section cache whose entries are keyed by a generation that clear() bumps.
+ *
+ * A load that started before a write committed, a sync @Cacheable miss or a
+ * refresh-ahead, can finish after ResponseSnapshotCache.invalidate cleared
+ * the cache. Its pre-commit data then lands under the old generation, where
+ * no reader looks, instead of being served until the entry expires. Dead
+ * entries are dropped by the next clear() or by the size bound.
+ */
+public class GenerationKeyedCache implements Cache {
+
+	private final Cache delegate;
+	private final AtomicLong generation = new AtomicLong();
+
+	public GenerationKeyedCache(Cache delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return delegate.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		return delegate.get(current(key));
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		return delegate.get(current(key), type);
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		return delegate.get(current(key), valueLoader);
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		delegate.put(current(key), value);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		return delegate.putIfAbsent(current(key), value);
+	}
+
+	@Override
+	public void evict(Object key) {
+		delegate.evict(current(key));
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		return delegate.evictIfPresent(current(key));
+	}
+
+	@Override
+	public void clear() {
+		generation.incrementAndGet();
+		delegate.clear();
+	}
+
+	@Override
+	public boolean invalidate() {
+		generation.incrementAndGet();
+		return delegate.invalidate();
+	}
+
+	private Object current(Object key) {
+		return new GenerationKey(generation.get(), key);
+	}
+
+	private record GenerationKey(long generation, Object key) {
+	}
+}
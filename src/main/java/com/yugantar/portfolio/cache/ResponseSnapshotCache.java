@@ -0,0 +1,179 @@
+package com.yugantar.portfolio.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yugantar.portfolio.dto.PortfolioSection;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the serialized JSON of the public read endpoints, together with a
+ * gzip copy and an ETag, so a request for unchanged data is answered from a
+ * byte array without touching the database, the entity mappers or Jackson.
+ *
+ * Each snapshot records which sections it was built from. Writes to a section
+ * invalidate it once their transaction commits, and the next request rebuilds
+ * every snapshot that depends on it. As in ActiveResumeCache, a snapshot is
+ * stamped with the section generations read before loading and is only kept
+ * if they are unchanged afterwards, so one built from data that changed while
+ * it was loading is never stored.
+ */
+@Component
+@Slf4j
+public class ResponseSnapshotCache {
+
+	private final ObjectMapper objectMapper;
+	private final CacheManager cacheManager;
+	private final Map<PortfolioSection, AtomicLong> generations = new EnumMap<>(PortfolioSection.class);
+	private final Map<String, Entry> snapshots = new ConcurrentHashMap<>();
+
+	public ResponseSnapshotCache(ObjectMapper objectMapper, CacheManager cacheManager) {
+		this.objectMapper = objectMapper;
+		this.cacheManager = cacheManager;
+		for (PortfolioSection section : PortfolioSection.values()) {
+			generations.put(section, new AtomicLong());
+		}
+	}
+
+	/**
+	 * Get the snapshot of an endpoint, building it on a miss
+	 * 
+	 * @param key       endpoint key, unique per response shape
+	 * @param sections  sections the response is built from
+	 * @param loader    builds the response body; exceptions propagate and
+	 *                  nothing is cached
+	 * @param cacheable whether a loaded body may be kept
+	 * @return snapshot of the serialized body
+	 */
+	public Snapshot get(String key, Set<PortfolioSection> sections, Supplier<?> loader, Predicate<Object> cacheable) {
+		long stamp = stamp(sections);
+		Entry cached = snapshots.get(key);
+		if (cached != null && cached.stamp() == stamp) {
+			return cached.snapshot();
+		}
+
+		log.debug("Response snapshot miss for {}, rebuilding", key);
+		Object body = loader.get();
+		Snapshot snapshot = serialize(body);
+		// A section invalidated while loading may have been read before its
+		// write committed: serve the body, but do not keep it
+		if (cacheable.test(body) && stamp(sections) == stamp) {
+			snapshots.put(key, new Entry(sections, stamp, snapshot));
+		}
+		return snapshot;
+	}
+
+	public Snapshot get(String key, Set<PortfolioSection> sections, Supplier<?> loader) {
+		return get(key, sections, loader, body -> true);
+	}
+
+	/**
+	 * Invalidate the snapshots built from a section once the current
+	 * transaction commits, or immediately when no transaction is active
+	 */
+	public void invalidateAfterCommit(PortfolioSection section) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidate(section);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				invalidate(section);
+			}
+		});
+	}
+
+	public void invalidate(PortfolioSection section) {
+		// Snapshots are rebuilt through the cached services, so their section
+		// cache has to be empty before a rebuild may start
+		Cache serviceCache = cacheManager.getCache(section.getKey());
+		if (serviceCache != null) {
+			serviceCache.clear();
+		}
+		generations.get(section).incrementAndGet();
+		snapshots.values().removeIf(entry -> entry.sections().contains(section));
+		log.debug("Response snapshots for {} invalidated", section.getKey());
+	}
+
+	/**
+	 * Generations only ever grow, so their sum changes whenever any of them does
+	 */
+	private long stamp(Set<PortfolioSection> sections) {
+		long stamp = 0;
+		for (PortfolioSection section : sections) {
+			stamp += generations.get(section).get();
+		}
+		return stamp;
+	}
+
+	private Snapshot serialize(Object body) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(body);
+			byte[] gzip = gzip(json);
+			return new Snapshot(json, gzip.length < json.length ? gzip : null, "\"" + sha256(json) + "\"");
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize response snapshot", e);
+		}
+	}
+
+	/**
+	 * Compressed once per rebuild, so the slowest level is affordable
+	 */
+	private static byte[] gzip(byte[] data) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+			{
+				def.setLevel(Deflater.BEST_COMPRESSION);
+			}
+		}) {
+			gzip.write(data);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private static String sha256(byte[] data) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data), 0, 16);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * Serialized response body
+	 * 
+	 * @param json identity-encoded JSON
+	 * @param gzip gzip-encoded JSON, or null when compression does not help
+	 * @param etag strong ETag of the identity encoding
+	 */
+	public record Snapshot(byte[] json, byte[] gzip, String etag) {
+	}
+
+	private record Entry(Set<PortfolioSection> sections, long stamp, Snapshot snapshot) {
+	}
+}
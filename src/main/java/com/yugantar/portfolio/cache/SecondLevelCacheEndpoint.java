@@ -0,0 +1,60 @@
+package com.yugantar.portfolio.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Actuator endpoint (/actuator/l2cache) reporting the Hibernate second-level
+ * and query cache per region, plus how many statements still reached the
+ * database. Requires hibernate.generate_statistics.
+ */
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+	private final Statistics statistics;
+
+	public SecondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@ReadOperation
+	public SecondLevelCacheStats stats() {
+		Map<String, RegionStats> regions = new TreeMap<>();
+		for (String name : statistics.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+			long entries = region.getElementCountInMemory();
+			regions.put(name, new RegionStats(region.getHitCount(), region.getMissCount(), region.getPutCount(),
+					entries == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? -1 : entries));
+		}
+		return new SecondLevelCacheStats(statistics.isStatisticsEnabled(), regions,
+				new RegionStats(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+						statistics.getQueryCachePutCount(), -1),
+				statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+	}
+
+	/**
+	 * @param entries entries held, or -1 when the provider does not report it
+	 */
+	public record RegionStats(long hits, long misses, long puts, long entries) {
+	}
+
+	/**
+	 * @param statements statements prepared since startup, i.e. database round
+	 *                   trips
+	 * @param entityLoads entities loaded from the database rather than the
+	 *                   cache
+	 */
+	public record SecondLevelCacheStats(boolean enabled, Map<String, RegionStats> regions, RegionStats queryCache,
+			long statements, long entityLoads) {
+	}
+}
@@ -0,0 +1,58 @@
+package com.yugantar.portfolio.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint (/actuator/sectioncaches) reporting, per section cache,
+ * how often reads were served from memory and how long database loads took,
+ * together with the configured TTL and refresh interval
+ */
+@Component
+@Endpoint(id = "sectioncaches")
+@RequiredArgsConstructor
+public class SectionCacheEndpoint {
+
+	private final CaffeineCacheManager cacheManager;
+
+	@ReadOperation
+	public Map<String, SectionCacheStats> caches() {
+		Map<String, SectionCacheStats> caches = new LinkedHashMap<>();
+		for (String name : cacheManager.getCacheNames()) {
+			if (cacheManager.getCache(name).getNativeCache() instanceof Cache<?, ?> cache) {
+				caches.put(name, stats(cache));
+			}
+		}
+		return caches;
+	}
+
+	private static SectionCacheStats stats(Cache<?, ?> cache) {
+		CacheStats stats = cache.stats();
+		Duration ttl = cache.policy().expireAfterWrite().map(policy -> policy.getExpiresAfter()).orElse(null);
+		Duration refresh = cache.policy().refreshAfterWrite().map(policy -> policy.getRefreshesAfter())
+				.orElse(null);
+		return new SectionCacheStats(stats.hitRate(), stats.hitCount(), stats.missCount(), stats.loadCount(),
+				stats.loadFailureCount(), stats.averageLoadPenalty() / 1_000_000.0,
+				stats.totalLoadTime() / 1_000_000, stats.evictionCount(), cache.estimatedSize(), ttl, refresh);
+	}
+
+	/**
+	 * Statistics of one section cache since startup. Loads include background
+	 * refreshes; explicit evictions by writes are not counted as evictions.
+	 */
+	public record SectionCacheStats(double hitRatio, long hits, long misses, long loads, long loadFailures,
+			double averageLoadMillis, long totalLoadMillis, long evictions, long entries, Duration ttl,
+			Duration refresh) {
+	}
+}
@@ -0,0 +1,85 @@
+package com.yugantar.portfolio.cache;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.yugantar.portfolio.cache.ResponseSnapshotCache.Snapshot;
+
+/**
+ * Writes a response snapshot as-is, picking the gzip copy when the client
+ * accepts it. Each encoding has its own ETag, as a strong validator must
+ * identify the exact bytes sent.
+ */
+public final class SnapshotResponses {
+
+	private SnapshotResponses() {
+	}
+
+	/**
+	 * Write a snapshot, or answer 304 when If-None-Match holds its ETag
+	 * 
+	 * @param snapshot   serialized body
+	 * @param webRequest current request
+	 * @return the response, or null when a 304 has been prepared
+	 */
+	public static ResponseEntity<byte[]> write(Snapshot snapshot, WebRequest webRequest) {
+		boolean gzip = snapshot.gzip() != null && acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+		String etag = gzip ? snapshot.etag().replaceFirst("\"$", "-gzip\"") : snapshot.etag();
+		if (webRequest.checkNotModified(etag)) {
+			return null;
+		}
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+				.cacheControl(CacheControl.noCache()).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+		}
+		return response.body(snapshot.json());
+	}
+
+	/**
+	 * Whether gzip is acceptable: an explicit gzip entry decides by its q value,
+	 * otherwise a * entry does
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		Boolean gzip = null;
+		Boolean any = null;
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.split(";");
+			String name = parts[0].trim();
+			if (name.equalsIgnoreCase("gzip")) {
+				gzip = accepted(parts);
+			} else if (name.equals("*")) {
+				any = accepted(parts);
+			}
+		}
+		if (gzip != null) {
+			return gzip;
+		}
+		return any != null && any;
+	}
+
+	/**
+	 * Whether a coding's parameters leave it acceptable, i.e. carry no q=0. An
+	 * unparsable q value counts as a refusal.
+	 */
+	private static boolean accepted(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String param = parts[i].trim();
+			if (param.startsWith("q=") || param.startsWith("Q=")) {
+				try {
+					return Double.parseDouble(param.substring(2).trim()) > 0;
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+}
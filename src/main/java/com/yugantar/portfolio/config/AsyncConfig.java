@@ -0,0 +1,89 @@
+package com.yugantar.portfolio.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for background work kept off the request threads. Pools and queues
+ * are bounded so a burst of uploads cannot pile up unbounded work or memory;
+ * submissions beyond the queue are rejected rather than run on the caller.
+ * Periodic housekeeping runs through @Scheduled on the default scheduler.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+	@Bean(name = "thumbnailExecutor")
+	public ThreadPoolTaskExecutor thumbnailExecutor(@Value("${resume.thumbnail.concurrency:2}") int concurrency,
+			@Value("${resume.thumbnail.queue-capacity:20}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(concurrency);
+		executor.setMaxPoolSize(concurrency);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("thumbnail-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(false);
+		return executor;
+	}
+
+	@Bean(name = "uploadExecutor")
+	public ThreadPoolTaskExecutor uploadExecutor(@Value("${upload.jobs.concurrency:2}") int concurrency,
+			@Value("${upload.jobs.queue-capacity:10}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(concurrency);
+		executor.setMaxPoolSize(concurrency);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("upload-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		// Let queued uploads finish so staged files are not left half processed
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+
+	@Bean(name = "sectionExecutor")
+	public ThreadPoolTaskExecutor sectionExecutor(@Value("${portfolio.sections.concurrency:4}") int concurrency,
+			@Value("${portfolio.sections.queue-capacity:32}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(concurrency);
+		executor.setMaxPoolSize(concurrency);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("section-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(false);
+		return executor;
+	}
+
+	// Caffeine refreshes the section caches here; a rejected refresh is skipped
+	// and retried on a later read, and cache maintenance then runs on the caller
+	@Bean(name = "cacheRefreshExecutor")
+	public ThreadPoolTaskExecutor cacheRefreshExecutor(@Value("${cache.sections.refresh-concurrency:2}") int concurrency,
+			@Value("${cache.sections.refresh-queue-capacity:16}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(concurrency);
+		executor.setMaxPoolSize(concurrency);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("cache-refresh-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(false);
+		return executor;
+	}
+
+	@Bean(name = "blobCacheExecutor")
+	public ThreadPoolTaskExecutor blobCacheExecutor(@Value("${blob.cache.load-concurrency:1}") int concurrency,
+			@Value("${blob.cache.load-queue-capacity:16}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(concurrency);
+		executor.setMaxPoolSize(concurrency);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("blob-cache-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(false);
+		return executor;
+	}
+}
@@ -0,0 +1,111 @@
+package com.yugantar.portfolio.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yugantar.portfolio.cache.GenerationKeyedCache;
+import com.yugantar.portfolio.service.AwardService;
+import com.yugantar.portfolio.service.CertificationService;
+import com.yugantar.portfolio.service.EducationService;
+import com.yugantar.portfolio.service.ExperienceService;
+import com.yugantar.portfolio.service.ProjectService;
+import com.yugantar.portfolio.service.SkillService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caffeine caches behind the @Cacheable list methods of the section
+ * services. Each section has its own TTL and refresh interval
+ * (cache.sections.&lt;name&gt;.ttl / .refresh, falling back to
+ * cache.sections.default.*). Once an entry is older than the refresh interval
+ * the next read still returns it but triggers a reload in the background, so
+ * readers only wait on the database for the very first load or after the TTL
+ * has passed unread. Refreshes run on the bounded cacheRefreshExecutor rather
+ * than the common pool, since they block on the database. Writes clear their
+ * own section only, through ResponseSnapshotCache.invalidate; entries are
+ * keyed by a generation bumped on every clear, so a load still running at
+ * that point cannot put pre-commit data back.
+ */
+@Configuration
+// Around the transaction advice, so a cache hit does not open a transaction
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@Slf4j
+public class CacheConfig {
+
+	public static final String SKILLS = "skills";
+	public static final String PROJECTS = "projects";
+	public static final String EXPERIENCES = "experiences";
+	public static final String EDUCATIONS = "educations";
+	public static final String AWARDS = "awards";
+	public static final String CERTIFICATIONS = "certifications";
+
+	@Bean
+	public CaffeineCacheManager cacheManager(Environment environment, ObjectProvider<SkillService> skillService,
+			ObjectProvider<ProjectService> projectService, ObjectProvider<ExperienceService> experienceService,
+			ObjectProvider<EducationService> educationService, ObjectProvider<AwardService> awardService,
+			ObjectProvider<CertificationService> certificationService,
+			@Qualifier("cacheRefreshExecutor") Executor refreshExecutor) {
+		// Refreshes must bypass the cache, so they call the service beans behind
+		// their caching proxies; the providers defer the lookup until then
+		Map<String, Supplier<Object>> loaders = new LinkedHashMap<>();
+		loaders.put(SKILLS, () -> uncached(skillService).getAllSkills());
+		loaders.put(PROJECTS, () -> uncached(projectService).getAllProjects());
+		loaders.put(EXPERIENCES, () -> uncached(experienceService).getAllExperiences());
+		loaders.put(EDUCATIONS, () -> uncached(educationService).getAllEducations());
+		loaders.put(AWARDS, () -> uncached(awardService).getAllAwards());
+		loaders.put(CERTIFICATIONS, () -> uncached(certificationService).getAllCertifications());
+
+		Duration defaultTtl = environment.getProperty("cache.sections.default.ttl", Duration.class,
+				Duration.ofHours(1));
+		Duration defaultRefresh = environment.getProperty("cache.sections.default.refresh", Duration.class,
+				Duration.ofMinutes(10));
+
+		// Only the registered caches exist; an unknown cache name is a mistake
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+			@Override
+			protected Cache adaptCaffeineCache(String name,
+					com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+				return new GenerationKeyedCache(super.adaptCaffeineCache(name, cache));
+			}
+		};
+		cacheManager.setCacheNames(List.of());
+		cacheManager.setAllowNullValues(false);
+		loaders.forEach((name, loader) -> {
+			Duration ttl = environment.getProperty("cache.sections." + name + ".ttl", Duration.class, defaultTtl);
+			Duration refresh = environment.getProperty("cache.sections." + name + ".refresh", Duration.class,
+					defaultRefresh);
+
+			Caffeine<Object, Object> builder = Caffeine.newBuilder().executor(refreshExecutor).expireAfterWrite(ttl)
+					.maximumSize(16).recordStats();
+			if (refresh.compareTo(ttl) < 0) {
+				builder.refreshAfterWrite(refresh);
+			}
+			cacheManager.registerCustomCache(name, builder.build(key -> loader.get()));
+			log.info("Section cache {}: ttl {}, refresh {}", name, ttl, refresh.compareTo(ttl) < 0 ? refresh : "off");
+		});
+		return cacheManager;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T uncached(ObjectProvider<T> provider) {
+		T bean = provider.getObject();
+		Object target = AopProxyUtils.getSingletonTarget(bean);
+		return target != null ? (T) target : bean;
+	}
+}
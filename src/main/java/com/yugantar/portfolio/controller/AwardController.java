@@ -1,9 +1,10 @@
 package com.yugantar.portfolio.controller;
 
-import java.util.List;
+import java.util.EnumSet;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,10 +16,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache.Snapshot;
+import com.yugantar.portfolio.cache.SnapshotResponses;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.dto.AwardRequest;
-import com.yugantar.portfolio.dto.AwardResponse;
+import com.yugantar.portfolio.paging.CursorResponses;
+import com.yugantar.portfolio.paging.Cursors;
 import com.yugantar.portfolio.service.AwardService;
 
 import jakarta.validation.Valid;
@@ -33,13 +41,28 @@ public class AwardController {
 	@Autowired
 	private AwardService awardService;
 
+	@Autowired
+	private ResponseSnapshotCache responseSnapshotCache;
+
 	@Value("${admin.token}")
 	private String ADMIN_TOKEN;
 
+	// Page size when only a cursor or order is given, and the largest allowed
+	private static final int MAX_PAGE_SIZE = 100;
+
+	// Public: Get all awards, or one keyset page when limit, after, orderBy or direction is given
 	@GetMapping("/awards")
-	public ResponseEntity<List<AwardResponse>> getAllAwards() {
-		List<AwardResponse> awards = awardService.getAllAwards();
-		return ResponseEntity.ok(awards);
+	@CrossOrigin(exposedHeaders = { Cursors.NEXT_CURSOR_HEADER, HttpHeaders.LINK })
+	public ResponseEntity<?> getAllAwards(@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String after, @RequestParam(required = false) String orderBy,
+			@RequestParam(required = false) String direction, WebRequest webRequest) {
+		if (limit != null || after != null || orderBy != null || direction != null) {
+			int size = Cursors.limit(limit, MAX_PAGE_SIZE);
+			return CursorResponses.ok(awardService.getAwardsPage(size, after, orderBy, direction));
+		}
+		Snapshot snapshot = responseSnapshotCache.get(PortfolioSection.AWARDS.getKey(),
+				EnumSet.of(PortfolioSection.AWARDS), awardService::getAllAwards);
+		return SnapshotResponses.write(snapshot, webRequest);
 	}
 
 	@PostMapping("/create/award")
@@ -1,9 +1,10 @@
 package com.yugantar.portfolio.controller;
 
-import java.util.List;
+import java.util.EnumSet;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,10 +16,18 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache.Snapshot;
+import com.yugantar.portfolio.cache.SnapshotResponses;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.dto.CertificationRequest;
-import com.yugantar.portfolio.dto.CertificationResponse;
+import com.yugantar.portfolio.paging.CursorResponses;
+import com.yugantar.portfolio.paging.Cursors;
+import com.yugantar.portfolio.projection.SparseFields;
 import com.yugantar.portfolio.service.CertificationService;
 
 import jakarta.validation.Valid;
@@ -33,12 +42,40 @@ public class CertificationController {
 	@Autowired
 	private CertificationService certificationService;
 
+	@Autowired
+	private ResponseSnapshotCache responseSnapshotCache;
+
 	@Value("${admin.token}")
 	private String ADMIN_TOKEN;
 
+	// Page size when only a cursor or order is given, and the largest allowed
+	private static final int MAX_PAGE_SIZE = 100;
+
+	// Public: Get all certifications, narrowed to the given fields, or one keyset page when limit,
+	// after, orderBy or direction is given
 	@GetMapping("/certifications")
-	public ResponseEntity<List<CertificationResponse>> getAll() {
-		return ResponseEntity.ok(certificationService.getAllCertifications());
+	@CrossOrigin(exposedHeaders = { Cursors.NEXT_CURSOR_HEADER, HttpHeaders.LINK })
+	public ResponseEntity<?> getAll(@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String after, @RequestParam(required = false) String orderBy,
+			@RequestParam(required = false) String direction, @RequestParam(required = false) String fields,
+			WebRequest webRequest) {
+		boolean paged = limit != null || after != null || orderBy != null || direction != null;
+		if (fields != null) {
+			if (paged) {
+				throw new IllegalArgumentException("fields cannot be combined with paging parameters");
+			}
+			String key = PortfolioSection.CERTIFICATIONS.getKey() + "?fields=" + SparseFields.key(fields);
+			Snapshot snapshot = responseSnapshotCache.get(key, EnumSet.of(PortfolioSection.CERTIFICATIONS),
+					() -> certificationService.getCertificationFields(fields));
+			return SnapshotResponses.write(snapshot, webRequest);
+		}
+		if (paged) {
+			int size = Cursors.limit(limit, MAX_PAGE_SIZE);
+			return CursorResponses.ok(certificationService.getCertificationsPage(size, after, orderBy, direction));
+		}
+		Snapshot snapshot = responseSnapshotCache.get(PortfolioSection.CERTIFICATIONS.getKey(),
+				EnumSet.of(PortfolioSection.CERTIFICATIONS), certificationService::getAllCertifications);
+		return SnapshotResponses.write(snapshot, webRequest);
 	}
 
 	@PostMapping("/create/certification")
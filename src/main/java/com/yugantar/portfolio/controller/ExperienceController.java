@@ -1,9 +1,10 @@
 package com.yugantar.portfolio.controller;
 
-import java.util.List;
+import java.util.EnumSet;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,10 +16,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache.Snapshot;
+import com.yugantar.portfolio.cache.SnapshotResponses;
+import com.yugantar.portfolio.dto.PortfolioSection;
+import com.yugantar.portfolio.dto.ExperienceImportRequest;
 import com.yugantar.portfolio.dto.ExperienceRequest;
-import com.yugantar.portfolio.dto.ExperienceResponse;
+import com.yugantar.portfolio.paging.CursorResponses;
+import com.yugantar.portfolio.paging.Cursors;
+import com.yugantar.portfolio.projection.SparseFields;
 import com.yugantar.portfolio.service.ExperienceService;
 
 import jakarta.validation.Valid;
@@ -33,14 +43,40 @@ public class ExperienceController {
 	@Autowired
 	private ExperienceService experienceService;
 
+	@Autowired
+	private ResponseSnapshotCache responseSnapshotCache;
+
 	@Value("${admin.token}")
 	private String ADMIN_TOKEN;
 
-	// Public: Get all experiences
+	// Page size when only a cursor or order is given, and the largest allowed
+	private static final int MAX_PAGE_SIZE = 100;
+
+	// Public: Get all experiences, narrowed to the given fields, or one keyset page when limit,
+	// after, orderBy or direction is given
 	@GetMapping("/experiences")
-	public ResponseEntity<List<ExperienceResponse>> getAllExperiences() {
-		List<ExperienceResponse> experiences = experienceService.getAllExperiences();
-		return ResponseEntity.ok(experiences);
+	@CrossOrigin(exposedHeaders = { Cursors.NEXT_CURSOR_HEADER, HttpHeaders.LINK })
+	public ResponseEntity<?> getAllExperiences(@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String after, @RequestParam(required = false) String orderBy,
+			@RequestParam(required = false) String direction, @RequestParam(required = false) String fields,
+			WebRequest webRequest) {
+		boolean paged = limit != null || after != null || orderBy != null || direction != null;
+		if (fields != null) {
+			if (paged) {
+				throw new IllegalArgumentException("fields cannot be combined with paging parameters");
+			}
+			String key = PortfolioSection.EXPERIENCES.getKey() + "?fields=" + SparseFields.key(fields);
+			Snapshot snapshot = responseSnapshotCache.get(key, EnumSet.of(PortfolioSection.EXPERIENCES),
+					() -> experienceService.getExperienceFields(fields));
+			return SnapshotResponses.write(snapshot, webRequest);
+		}
+		if (paged) {
+			int size = Cursors.limit(limit, MAX_PAGE_SIZE);
+			return CursorResponses.ok(experienceService.getExperiencesPage(size, after, orderBy, direction));
+		}
+		Snapshot snapshot = responseSnapshotCache.get(PortfolioSection.EXPERIENCES.getKey(),
+				EnumSet.of(PortfolioSection.EXPERIENCES), experienceService::getAllExperiences);
+		return SnapshotResponses.write(snapshot, webRequest);
 	}
 
 	// Admin: Create experience
@@ -57,6 +93,20 @@ public class ExperienceController {
 		return ResponseEntity.status(HttpStatus.CREATED).body("Experience created successfully");
 	}
 
+	// Admin: Create several experiences at once, all or none
+	@PostMapping("/create/experiences")
+	public ResponseEntity<String> importExperiences(@Valid @RequestBody ExperienceImportRequest request,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized experience import attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Access denied");
+		}
+
+		log.info("Importing {} experiences", request.getExperiences().size());
+		int imported = experienceService.importExperiences(request.getExperiences());
+		return ResponseEntity.status(HttpStatus.CREATED).body(imported + " experiences imported successfully");
+	}
+
 	// Admin: Update experience
 	@PutMapping("/update/experience/{id}")
 	public ResponseEntity<String> updateExperience(@PathVariable Long id, @Valid @RequestBody ExperienceRequest request,
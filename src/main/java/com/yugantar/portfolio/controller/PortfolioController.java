@@ -0,0 +1,67 @@
+package com.yugantar.portfolio.controller;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache.Snapshot;
+import com.yugantar.portfolio.cache.SnapshotResponses;
+import com.yugantar.portfolio.dto.PortfolioResponse;
+import com.yugantar.portfolio.dto.PortfolioSection;
+import com.yugantar.portfolio.service.PortfolioService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin("*")
+@Slf4j
+public class PortfolioController {
+
+	@Autowired
+	private PortfolioService portfolioService;
+
+	@Autowired
+	private ResponseSnapshotCache responseSnapshotCache;
+
+	// Public: Get several sections in one response, e.g. ?sections=skills,projects
+	@GetMapping("/portfolio")
+	public ResponseEntity<byte[]> getPortfolio(@RequestParam(required = false) String sections,
+			WebRequest webRequest) {
+		Set<PortfolioSection> requested = parseSections(sections);
+		String key = requested.stream().map(PortfolioSection::getKey).collect(Collectors.joining(",", "portfolio?", ""));
+
+		// A response with failed sections is served but not kept
+		Snapshot snapshot = responseSnapshotCache.get(key, requested, () -> portfolioService.getPortfolio(requested),
+				body -> ((PortfolioResponse) body).getErrors() == null);
+		return SnapshotResponses.write(snapshot, webRequest);
+	}
+
+	/**
+	 * Parse a comma-separated list of section names; no list means every
+	 * section
+	 */
+	private Set<PortfolioSection> parseSections(String sections) {
+		if (sections == null || sections.isBlank()) {
+			return EnumSet.allOf(PortfolioSection.class);
+		}
+		Set<PortfolioSection> parsed = EnumSet.noneOf(PortfolioSection.class);
+		Arrays.stream(sections.split(",")).filter(name -> !name.isBlank()).map(PortfolioSection::fromKey)
+				.forEach(parsed::add);
+		if (parsed.isEmpty()) {
+			throw new IllegalArgumentException("No portfolio sections requested");
+		}
+		return parsed;
+	}
+}
@@ -1,12 +1,17 @@
 package com.yugantar.portfolio.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,18 +20,39 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache.Snapshot;
+import com.yugantar.portfolio.cache.SnapshotResponses;
+import com.yugantar.portfolio.dto.ChunkedUploadInitRequest;
+import com.yugantar.portfolio.dto.ChunkedUploadStatus;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.dto.ProfilePhotoInfo;
 import com.yugantar.portfolio.dto.ProfilePhotoResponse;
 import com.yugantar.portfolio.dto.ProfilePhotoUploadResponse;
+import com.yugantar.portfolio.dto.UploadJobStatus;
 import com.yugantar.portfolio.entity.ProfilePhotoEntity;
+import com.yugantar.portfolio.entity.ProfilePhotoVariantEntity;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.Cursors;
 import com.yugantar.portfolio.service.ProfilePhotoService;
-
+import com.yugantar.portfolio.service.ProfilePhotoVariantService;
+import com.yugantar.portfolio.service.UploadJobService;
+import com.yugantar.portfolio.storage.BlobResponseWriter;
+import com.yugantar.portfolio.upload.ChunkedUploadStore;
+import com.yugantar.portfolio.upload.StagedUpload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,51 +64,60 @@ import lombok.extern.slf4j.Slf4j;
 public class ProfilePhotoController {
 
 	private final ProfilePhotoService profilePhotoService;
+	private final BlobResponseWriter blobResponseWriter;
+	private final ChunkedUploadStore chunkedUploadStore;
+	private final UploadJobService uploadJobService;
+	private final ProfilePhotoVariantService profilePhotoVariantService;
+	private final ResponseSnapshotCache responseSnapshotCache;
 
 	@Value("${admin.token}")
 	private String ADMIN_TOKEN;
 
+	// Listing page size when no limit is given, and the largest allowed
+	private static final int MAX_PAGE_SIZE = 100;
+
+	// Suggested wait when the upload queue is full
+	private static final int UPLOAD_RETRY_AFTER_SECONDS = 30;
+
+	// Client hints used to pick a photo variant; responses vary on all of them
+	private static final String CLIENT_HINTS = "Sec-CH-Width, Width, Sec-CH-DPR, DPR";
+
+	// Higher pixel ratios are treated as this one
+	private static final double MAX_DPR = 4;
+
+	private static final String UPLOAD_PURPOSE = "profile-photo";
+
 	/**
 	 * Public endpoint to get profile photo info
 	 */
 	@GetMapping("/profile-photo/info")
-	public ResponseEntity<ProfilePhotoInfo> getProfilePhotoInfo() {
+	public ResponseEntity<byte[]> getProfilePhotoInfo(WebRequest webRequest) {
 		log.debug("Getting profile photo info");
-		ProfilePhotoInfo photoInfo = profilePhotoService.getProfilePhotoInfo();
-		return ResponseEntity.ok(photoInfo);
+		Snapshot snapshot = responseSnapshotCache.get(PortfolioSection.PROFILE_PHOTO.getKey(),
+				EnumSet.of(PortfolioSection.PROFILE_PHOTO), profilePhotoService::getProfilePhotoInfo);
+		return SnapshotResponses.write(snapshot, webRequest);
 	}
 
 	/**
-	 * Public endpoint to view profile photo
+	 * Public endpoint to view profile photo. A downscaled variant is served when
+	 * ?w= or the Width/DPR client hints ask for a smaller image.
 	 */
 	@GetMapping("/profile-photo/view/{id}")
-	public ResponseEntity<Resource> viewProfilePhoto(@PathVariable Long id) {
+	public ResponseEntity<StreamingResponseBody> viewProfilePhoto(@PathVariable Long id,
+			@RequestParam(name = "w", required = false) Integer width, HttpServletRequest request,
+			WebRequest webRequest) {
 		log.info("Profile photo view requested for ID: {}", id);
 
 		ProfilePhotoEntity photo = profilePhotoService.getProfilePhotoById(id);
-		if (photo == null) {
+		if (photo == null || photo.getContentHash() == null) {
 			log.warn("Profile photo not found for view with ID: {}", id);
 			return ResponseEntity.notFound().build();
 		}
 
+		Integer targetWidth = targetWidth(width, request);
 		try {
-			ByteArrayResource resource = new ByteArrayResource(photo.getImageData());
-
-			String contentType = photo.getContentType();
-			if (contentType == null) {
-				contentType = "image/jpeg"; // default fallback
-			}
-
 			log.info("Serving profile photo: {} ({})", photo.getOriginalFileName(), photo.getFileFormat());
-
-			return ResponseEntity.ok().contentType(MediaType.parseMediaType(contentType))
-					.contentLength(photo.getFileSize()).header(HttpHeaders.CACHE_CONTROL, "public, max-age=86400") // Cache
-																													// for
-																													// 1
-																													// day
-					.header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + photo.getOriginalFileName() + "\"")
-					.body(resource);
-
+			return servePhoto(photo, targetWidth, "public, max-age=86400", request, webRequest); // Cache for 1 day
 		} catch (Exception e) {
 			log.error("Error serving profile photo for ID: {}", id, e);
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -90,38 +125,26 @@ public class ProfilePhotoController {
 	}
 
 	/**
-	 * Public endpoint to view active profile photo
+	 * Public endpoint to view active profile photo, with the same variant
+	 * selection as the view endpoint
 	 */
 	@GetMapping("/profile-photo/active")
-	public ResponseEntity<Resource> viewActiveProfilePhoto() {
+	public ResponseEntity<StreamingResponseBody> viewActiveProfilePhoto(
+			@RequestParam(name = "w", required = false) Integer width, HttpServletRequest request,
+			WebRequest webRequest) {
 		log.info("Active profile photo view requested");
 
 		ProfilePhotoEntity activePhoto = profilePhotoService.getActiveProfilePhoto();
-		if (activePhoto == null) {
+		if (activePhoto == null || activePhoto.getContentHash() == null) {
 			log.warn("No active profile photo available for view");
 			return ResponseEntity.notFound().build();
 		}
 
+		Integer targetWidth = targetWidth(width, request);
 		try {
-			ByteArrayResource resource = new ByteArrayResource(activePhoto.getImageData());
-
-			String contentType = activePhoto.getContentType();
-			if (contentType == null) {
-				contentType = "image/jpeg"; // default fallback
-			}
-
 			log.info("Serving active profile photo: {} ({})", activePhoto.getOriginalFileName(),
 					activePhoto.getFileFormat());
-
-			return ResponseEntity.ok().contentType(MediaType.parseMediaType(contentType))
-					.contentLength(activePhoto.getFileSize()).header(HttpHeaders.CACHE_CONTROL, "public, max-age=3600") // Cache
-																														// for
-																														// 1
-																														// hour
-					.header(HttpHeaders.CONTENT_DISPOSITION,
-							"inline; filename=\"" + activePhoto.getOriginalFileName() + "\"")
-					.body(resource);
-
+			return servePhoto(activePhoto, targetWidth, "public, max-age=3600", request, webRequest); // Cache for 1 hour
 		} catch (Exception e) {
 			log.error("Error serving active profile photo", e);
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -144,23 +167,162 @@ public class ProfilePhotoController {
 		log.info("Admin profile photo upload requested for file: {}", file.getOriginalFilename());
 
 		ProfilePhotoUploadResponse response = profilePhotoService.uploadProfilePhoto(file);
+		return uploadResponse(response);
+	}
 
-		if (response.isSuccess()) {
-			return ResponseEntity.ok(response);
-		} else {
-			HttpStatus status = HttpStatus.BAD_REQUEST;
-			if ("FILE_READ_ERROR".equals(response.getErrorCode()) || "INTERNAL_ERROR".equals(response.getErrorCode())) {
-				status = HttpStatus.INTERNAL_SERVER_ERROR;
-			}
-			return ResponseEntity.status(status).body(response);
+	/**
+	 * Admin endpoint to upload a profile photo for background processing. The file is
+	 * spooled to disk and 202 is returned with a job to poll for the result.
+	 */
+	@PostMapping("/profile-photo/upload-jobs")
+	public ResponseEntity<UploadJobStatus> submitUploadJob(@RequestParam("file") MultipartFile file,
+			@RequestHeader("X-ADMIN-TOKEN") String token) throws IOException {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized profile photo upload job attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		// Cheap checks up front, the job validates again before storing
+		String validationError = profilePhotoService.validateProfilePhoto(file);
+		if (validationError != null) {
+			throw new IllegalArgumentException(validationError);
+		}
+
+		StagedUpload upload;
+		try (InputStream in = file.getInputStream()) {
+			upload = chunkedUploadStore.stage(file.getOriginalFilename(), file.getContentType(), in);
 		}
+
+		try {
+			UploadJobStatus job = uploadJobService.submit(UPLOAD_PURPOSE, upload, profilePhotoService::uploadProfilePhoto);
+			URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}")
+					.buildAndExpand(job.getJobId()).toUri();
+			return ResponseEntity.accepted().location(location).body(job);
+		} catch (TaskRejectedException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, String.valueOf(UPLOAD_RETRY_AFTER_SECONDS)).build();
+		}
+	}
+
+	/**
+	 * Admin endpoint to poll a background profile photo upload
+	 */
+	@GetMapping("/profile-photo/upload-jobs/{jobId}")
+	public ResponseEntity<UploadJobStatus> getUploadJob(@PathVariable String jobId,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized access to profile photo upload job");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		return ResponseEntity.ok(uploadJobService.getStatus(UPLOAD_PURPOSE, jobId));
+	}
+
+	/**
+	 * Admin endpoint to start a chunked profile photo upload. Name, type and size are
+	 * validated up front so a bad file is rejected before any content is sent.
+	 */
+	@PostMapping("/profile-photo/uploads")
+	public ResponseEntity<ChunkedUploadStatus> startChunkedUpload(@Valid @RequestBody ChunkedUploadInitRequest request,
+			@RequestHeader("X-ADMIN-TOKEN") String token) throws IOException {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized chunked profile photo upload attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		String validationError = profilePhotoService.validateProfilePhoto(request.getFileName(), request.getContentType(),
+				request.getFileSize());
+		if (validationError != null) {
+			throw new IllegalArgumentException(validationError);
+		}
+
+		ChunkedUploadStatus status = chunkedUploadStore.create(UPLOAD_PURPOSE, request.getFileName(),
+				request.getContentType(), request.getFileSize());
+		return ResponseEntity.status(HttpStatus.CREATED).body(status);
+	}
+
+	/**
+	 * Admin endpoint to get the status of a chunked upload, used to resume after
+	 * a dropped connection
+	 */
+	@GetMapping("/profile-photo/uploads/{uploadId}")
+	public ResponseEntity<ChunkedUploadStatus> getChunkedUploadStatus(@PathVariable String uploadId,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized access to chunked profile photo upload status");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		return ResponseEntity.ok(chunkedUploadStore.status(UPLOAD_PURPOSE, uploadId));
 	}
 
 	/**
-	 * Admin endpoint to get all profile photos
+	 * Admin endpoint to send one chunk of a profile photo upload as the raw request
+	 * body. The body is streamed to temp storage, never buffered in memory.
+	 */
+	@PutMapping(value = "/profile-photo/uploads/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public ResponseEntity<ChunkedUploadStatus> uploadChunk(@PathVariable String uploadId, @PathVariable int index,
+			@RequestHeader("X-ADMIN-TOKEN") String token, HttpServletRequest request) throws IOException {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized chunked profile photo upload attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		ChunkedUploadStatus status = chunkedUploadStore.writeChunk(UPLOAD_PURPOSE, uploadId, index,
+				request.getInputStream(), request.getContentLengthLong());
+		return ResponseEntity.ok(status);
+	}
+
+	/**
+	 * Admin endpoint to finish a chunked upload and store the profile photo
+	 */
+	@PostMapping("/profile-photo/uploads/{uploadId}/complete")
+	public ResponseEntity<ProfilePhotoUploadResponse> completeChunkedUpload(@PathVariable String uploadId,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized chunked profile photo upload attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ProfilePhotoUploadResponse.builder().success(false)
+					.message("Access denied").errorCode("UNAUTHORIZED").build());
+		}
+
+		StagedUpload upload = chunkedUploadStore.complete(UPLOAD_PURPOSE, uploadId);
+		try {
+			return uploadResponse(profilePhotoService.uploadProfilePhoto(upload));
+		} finally {
+			chunkedUploadStore.discard(upload);
+		}
+	}
+
+	/**
+	 * Admin endpoint to abort a chunked upload
+	 */
+	@DeleteMapping("/profile-photo/uploads/{uploadId}")
+	public ResponseEntity<String> abortChunkedUpload(@PathVariable String uploadId,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized attempt to abort chunked profile photo upload");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Access denied");
+		}
+
+		chunkedUploadStore.abort(UPLOAD_PURPOSE, uploadId);
+		return ResponseEntity.ok("Upload aborted");
+	}
+
+	/**
+	 * Admin endpoint to list profile photos, latest first. Pass the X-Next-Cursor
+	 * response header back as "after" to get the next page.
 	 */
 	@GetMapping("/profile-photos")
+	@CrossOrigin(exposedHeaders = Cursors.NEXT_CURSOR_HEADER)
 	public ResponseEntity<List<ProfilePhotoResponse>> getAllProfilePhotos(
+			@RequestParam(required = false) Integer limit, @RequestParam(required = false) String after,
 			@RequestHeader("X-ADMIN-TOKEN") String token) {
 
 		if (!ADMIN_TOKEN.equals(token)) {
@@ -168,9 +330,15 @@ public class ProfilePhotoController {
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 		}
 
-		log.debug("Admin requesting all profile photos list");
-		List<ProfilePhotoResponse> photos = profilePhotoService.getAllProfilePhotos();
-		return ResponseEntity.ok(photos);
+		log.debug("Admin requesting profile photos list");
+		CursorPage<ProfilePhotoResponse> page = profilePhotoService
+				.getAllProfilePhotos(Cursors.limit(limit, MAX_PAGE_SIZE), after);
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.nextCursor() != null) {
+			response.header(Cursors.NEXT_CURSOR_HEADER, page.nextCursor());
+		}
+		return response.body(page.items());
 	}
 
 	/**
@@ -218,11 +386,12 @@ public class ProfilePhotoController {
 	}
 
 	/**
-	 * Admin endpoint to download profile photo (for backup purposes)
+	 * Admin endpoint to download profile photo as originally uploaded (for
+	 * backup purposes)
 	 */
 	@GetMapping("/profile-photo/download/{id}")
-	public ResponseEntity<Resource> downloadProfilePhoto(@PathVariable Long id,
-			@RequestHeader("X-ADMIN-TOKEN") String token) {
+	public ResponseEntity<StreamingResponseBody> downloadProfilePhoto(@PathVariable Long id,
+			@RequestHeader("X-ADMIN-TOKEN") String token, HttpServletRequest request, WebRequest webRequest) {
 
 		if (!ADMIN_TOKEN.equals(token)) {
 			log.warn("Unauthorized attempt to download profile photo");
@@ -232,29 +401,136 @@ public class ProfilePhotoController {
 		log.info("Admin downloading profile photo with ID: {}", id);
 
 		ProfilePhotoEntity photo = profilePhotoService.getProfilePhotoById(id);
-		if (photo == null) {
+		if (photo == null || photo.getContentHash() == null) {
 			log.warn("Profile photo not found for download with ID: {}", id);
 			return ResponseEntity.notFound().build();
 		}
 
 		try {
-			ByteArrayResource resource = new ByteArrayResource(photo.getImageData());
 
-			String contentType = photo.getContentType();
+			// The upload as received, not the re-encoded copy that is served publicly
+			boolean reencoded = photo.getOriginalContentHash() != null;
+			String contentHash = reencoded ? photo.getOriginalContentHash() : photo.getContentHash();
+			String contentType = reencoded ? photo.getOriginalContentType() : photo.getContentType();
 			if (contentType == null) {
 				contentType = "application/octet-stream";
 			}
 
+			String etag = "\"" + contentHash + "\"";
+			if (webRequest.checkNotModified(etag)) {
+				return null;
+			}
+
 			log.info("Serving profile photo download: {} ({})", photo.getOriginalFileName(), photo.getFileFormat());
 
-			return ResponseEntity.ok().contentType(MediaType.parseMediaType(contentType))
-					.contentLength(photo.getFileSize()).header(HttpHeaders.CONTENT_DISPOSITION,
-							"attachment; filename=\"" + photo.getOriginalFileName() + "\"")
-					.body(resource);
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.parseMediaType(contentType));
+			headers.set(HttpHeaders.CONTENT_DISPOSITION,
+					"attachment; filename=\"" + photo.getOriginalFileName() + "\"");
+
+			return blobResponseWriter.write(contentHash, etag, headers, request);
 
 		} catch (Exception e) {
 			log.error("Error serving profile photo download for ID: {}", id, e);
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Serve the variant of a photo picked for the wanted width and the Accept
+	 * header, or the original
+	 */
+	private ResponseEntity<StreamingResponseBody> servePhoto(ProfilePhotoEntity photo, Integer targetWidth,
+			String cacheControl, HttpServletRequest request, WebRequest webRequest) throws IOException {
+		String contentHash = photo.getContentHash();
+		String contentType = photo.getContentType() != null ? photo.getContentType() : "image/jpeg"; // default fallback
+
+		// Only representations encoded at upload time are considered
+		ProfilePhotoVariantEntity variant = profilePhotoVariantService.selectVariant(photo, targetWidth,
+				acceptedTypes(request));
+		if (variant != null) {
+			contentHash = variant.getContentHash();
+			contentType = variant.getContentType();
+		}
+
+		// Each variant has its own ETag, so a revalidation matches only the
+		// representation the same Accept and hints would select again
+		String etag = "\"" + contentHash + "\"";
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+		headers.set("Accept-CH", CLIENT_HINTS);
+		List<String> vary = new ArrayList<>(List.of(CLIENT_HINTS.split(", ")));
+		vary.add(HttpHeaders.ACCEPT);
+		headers.setVary(vary);
+
+		// checkNotModified sets the ETag; the 304 repeats the caching headers
+		if (webRequest.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+		}
+
+		headers.setContentType(MediaType.parseMediaType(contentType));
+		headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + photo.getOriginalFileName() + "\"");
+		return blobResponseWriter.write(contentHash, etag, headers, request);
+	}
+
+	/**
+	 * Wanted width in device pixels: ?w= in CSS pixels times the DPR hint, or
+	 * the Width hint, which is already in device pixels
+	 */
+	private static Integer targetWidth(Integer width, HttpServletRequest request) {
+		if (width != null) {
+			if (width < 1) {
+				throw new IllegalArgumentException("Width must be at least 1");
+			}
+			double dpr = parseHint(request, "Sec-CH-DPR", "DPR");
+			return (int) Math.ceil(width * Math.min(Math.max(Double.isNaN(dpr) ? 1 : dpr, 1), MAX_DPR));
+		}
+		double hintedWidth = parseHint(request, "Sec-CH-Width", "Width");
+		return Double.isNaN(hintedWidth) || hintedWidth < 1 ? null : (int) Math.ceil(hintedWidth);
+	}
+
+	/**
+	 * Media ranges from the Accept header; a malformed header accepts anything
+	 */
+	private static List<MediaType> acceptedTypes(HttpServletRequest request) {
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		if (accept == null || accept.isBlank()) {
+			return List.of();
+		}
+		try {
+			return MediaType.parseMediaTypes(accept);
+		} catch (InvalidMediaTypeException e) {
+			log.debug("Ignoring invalid Accept header: {}", accept);
+			return List.of();
+		}
+	}
+
+	private static double parseHint(HttpServletRequest request, String... names) {
+		for (String name : names) {
+			String value = request.getHeader(name);
+			if (value != null) {
+				try {
+					return Double.parseDouble(value.trim());
+				} catch (NumberFormatException e) {
+					log.debug("Ignoring invalid {} hint: {}", name, value);
+				}
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Map an upload result to its HTTP status
+	 */
+	private ResponseEntity<ProfilePhotoUploadResponse> uploadResponse(ProfilePhotoUploadResponse response) {
+		if (response.isSuccess()) {
+			return ResponseEntity.ok(response);
+		} else {
+			HttpStatus status = HttpStatus.BAD_REQUEST;
+			if ("FILE_READ_ERROR".equals(response.getErrorCode()) || "INTERNAL_ERROR".equals(response.getErrorCode())) {
+				status = HttpStatus.INTERNAL_SERVER_ERROR;
+			}
+			return ResponseEntity.status(status).body(response);
+		}
+	}
+}
@@ -1,10 +1,15 @@
 package com.yugantar.portfolio.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -15,18 +20,39 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache.Snapshot;
+import com.yugantar.portfolio.cache.SnapshotResponses;
+import com.yugantar.portfolio.dto.ChunkedUploadInitRequest;
+import com.yugantar.portfolio.dto.ChunkedUploadStatus;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.dto.ResumeDownloadInfo;
 import com.yugantar.portfolio.dto.ResumeResponse;
 import com.yugantar.portfolio.dto.ResumeUploadResponse;
+import com.yugantar.portfolio.dto.UploadJobStatus;
 import com.yugantar.portfolio.entity.ResumeEntity;
+import com.yugantar.portfolio.entity.ResumeThumbnailEntity;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.Cursors;
 import com.yugantar.portfolio.service.ResumeService;
-
+import com.yugantar.portfolio.service.ResumeThumbnailService;
+import com.yugantar.portfolio.service.UploadJobService;
+import com.yugantar.portfolio.storage.BlobResponseWriter;
+import com.yugantar.portfolio.upload.ChunkedUploadStore;
+import com.yugantar.portfolio.upload.StagedUpload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,36 +64,53 @@ import lombok.extern.slf4j.Slf4j;
 public class ResumeController {
 
 	private final ResumeService resumeService;
+	private final ResumeThumbnailService resumeThumbnailService;
+	private final BlobResponseWriter blobResponseWriter;
+	private final ChunkedUploadStore chunkedUploadStore;
+	private final UploadJobService uploadJobService;
+	private final ResponseSnapshotCache responseSnapshotCache;
 
 	@Value("${admin.token}")
 	private String ADMIN_TOKEN;
 
+	// Listing page size when no limit is given, and the largest allowed
+	private static final int MAX_PAGE_SIZE = 100;
+
+	// Suggested wait when the upload queue is full
+	private static final int UPLOAD_RETRY_AFTER_SECONDS = 30;
+
+	private static final String UPLOAD_PURPOSE = "resume";
+
 	/**
 	 * Public endpoint to get resume download info
 	 */
 	@GetMapping("/resume/download-info")
-	public ResponseEntity<ResumeDownloadInfo> getResumeDownloadInfo() {
+	public ResponseEntity<byte[]> getResumeDownloadInfo(WebRequest webRequest) {
 		log.debug("Getting resume download info");
-		ResumeDownloadInfo downloadInfo = resumeService.getResumeDownloadInfo();
-		return ResponseEntity.ok(downloadInfo);
+		Snapshot snapshot = responseSnapshotCache.get(PortfolioSection.RESUME.getKey(),
+				EnumSet.of(PortfolioSection.RESUME), resumeService::getResumeDownloadInfo);
+		return SnapshotResponses.write(snapshot, webRequest);
 	}
 
 	/**
-	 * Public endpoint to download the active resume
+	 * Public endpoint to download the active resume (supports Range requests)
 	 */
 	@GetMapping("/resume/download")
-	public ResponseEntity<Resource> downloadResume() {
+	public ResponseEntity<StreamingResponseBody> downloadResume(HttpServletRequest request, WebRequest webRequest) {
 		log.info("Resume download requested");
 
 		ResumeEntity activeResume = resumeService.getActiveResume();
-		if (activeResume == null) {
+		if (activeResume == null || activeResume.getContentHash() == null) {
 			log.warn("No active resume available for download");
 			return ResponseEntity.notFound().build();
 		}
 
-		try {
-			ByteArrayResource resource = new ByteArrayResource(activeResume.getFileData());
+		if (webRequest.checkNotModified(etag(activeResume))) {
+			log.debug("Active resume not modified, answering 304");
+			return null;
+		}
 
+		try {
 			String contentType = activeResume.getContentType();
 			if (contentType == null) {
 				contentType = "application/octet-stream";
@@ -76,10 +119,13 @@ public class ResumeController {
 			log.info("Serving resume download: {} ({})", activeResume.getOriginalFileName(),
 					activeResume.getFileFormat());
 
-			return ResponseEntity.ok().contentType(MediaType.parseMediaType(contentType))
-					.contentLength(activeResume.getFileSize()).header(HttpHeaders.CONTENT_DISPOSITION,
-							"attachment; filename=\"" + activeResume.getOriginalFileName() + "\"")
-					.body(resource);
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.parseMediaType(contentType));
+			headers.setCacheControl(CacheControl.noCache());
+			headers.set(HttpHeaders.CONTENT_DISPOSITION,
+					"attachment; filename=\"" + activeResume.getOriginalFileName() + "\"");
+
+			return blobResponseWriter.write(activeResume.getContentHash(), etag(activeResume), headers, request);
 
 		} catch (Exception e) {
 			log.error("Error serving resume download", e);
@@ -88,21 +134,25 @@ public class ResumeController {
 	}
 
 	/**
-	 * Public endpoint to preview resume (opens in new tab)
+	 * Public endpoint to preview resume (opens in new tab, supports Range
+	 * requests)
 	 */
 	@GetMapping("/resume/preview/{id}")
-	public ResponseEntity<Resource> previewResume(@PathVariable Long id) {
+	public ResponseEntity<StreamingResponseBody> previewResume(@PathVariable Long id, HttpServletRequest request,
+			WebRequest webRequest) {
 		log.info("Resume preview requested for ID: {}", id);
 
 		ResumeEntity resume = resumeService.getResumeById(id);
-		if (resume == null) {
+		if (resume == null || resume.getContentHash() == null) {
 			log.warn("Resume not found for preview with ID: {}", id);
 			return ResponseEntity.notFound().build();
 		}
 
-		try {
-			ByteArrayResource resource = new ByteArrayResource(resume.getFileData());
+		if (webRequest.checkNotModified(etag(resume))) {
+			return null;
+		}
 
+		try {
 			String contentType = resume.getContentType();
 			if (contentType == null) {
 				contentType = "application/octet-stream";
@@ -110,10 +160,11 @@ public class ResumeController {
 
 			log.info("Serving resume preview: {} ({})", resume.getOriginalFileName(), resume.getFileFormat());
 
-			return ResponseEntity.ok().contentType(MediaType.parseMediaType(contentType))
-					.contentLength(resume.getFileSize()).header(HttpHeaders.CONTENT_DISPOSITION,
-							"inline; filename=\"" + resume.getOriginalFileName() + "\"")
-					.body(resource);
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.parseMediaType(contentType));
+			headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resume.getOriginalFileName() + "\"");
+
+			return blobResponseWriter.write(resume.getContentHash(), etag(resume), headers, request);
 
 		} catch (Exception e) {
 			log.error("Error serving resume preview for ID: {}", id, e);
@@ -121,6 +172,40 @@ public class ResumeController {
 		}
 	}
 
+	/**
+	 * Public endpoint to get a rendered page thumbnail of a resume. Thumbnails are
+	 * rendered in the background after upload, so this answers 404 until ready.
+	 */
+	@GetMapping("/resume/{id}/thumbnail")
+	public ResponseEntity<StreamingResponseBody> getResumeThumbnail(@PathVariable Long id,
+			@RequestParam(defaultValue = "1") int page, @RequestParam(name = "w", required = false) Integer width,
+			HttpServletRequest request, WebRequest webRequest) {
+		log.debug("Resume thumbnail requested for ID: {}, page: {}, width: {}", id, page, width);
+
+		ResumeThumbnailEntity thumbnail = resumeThumbnailService.getThumbnail(id, page, width);
+		if (thumbnail == null) {
+			return ResponseEntity.notFound().build();
+		}
+
+		String etag = "\"" + thumbnail.getContentHash() + "\"";
+		if (webRequest.checkNotModified(etag)) {
+			return null;
+		}
+
+		try {
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.parseMediaType(thumbnail.getContentType()));
+			// Content-addressed, so a given response never changes
+			headers.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+
+			return blobResponseWriter.write(thumbnail.getContentHash(), etag, headers, request);
+
+		} catch (Exception e) {
+			log.error("Error serving resume thumbnail for ID: {}", id, e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+		}
+	}
+
 	/**
 	 * Admin endpoint to upload resume
 	 */
@@ -137,32 +222,176 @@ public class ResumeController {
 		log.info("Admin resume upload requested for file: {}", file.getOriginalFilename());
 
 		ResumeUploadResponse response = resumeService.uploadResume(file);
+		return uploadResponse(response);
+	}
 
-		if (response.isSuccess()) {
-			return ResponseEntity.ok(response);
-		} else {
-			HttpStatus status = HttpStatus.BAD_REQUEST;
-			if ("FILE_READ_ERROR".equals(response.getErrorCode()) || "INTERNAL_ERROR".equals(response.getErrorCode())) {
-				status = HttpStatus.INTERNAL_SERVER_ERROR;
-			}
-			return ResponseEntity.status(status).body(response);
+	/**
+	 * Admin endpoint to upload a resume for background processing. The file is
+	 * spooled to disk and 202 is returned with a job to poll for the result.
+	 */
+	@PostMapping("/resume/upload-jobs")
+	public ResponseEntity<UploadJobStatus> submitUploadJob(@RequestParam("file") MultipartFile file,
+			@RequestHeader("X-ADMIN-TOKEN") String token) throws IOException {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized resume upload job attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		// Cheap checks up front, the job validates again before storing
+		String validationError = resumeService.validateResumeFile(file);
+		if (validationError != null) {
+			throw new IllegalArgumentException(validationError);
+		}
+
+		StagedUpload upload;
+		try (InputStream in = file.getInputStream()) {
+			upload = chunkedUploadStore.stage(file.getOriginalFilename(), file.getContentType(), in);
+		}
+
+		try {
+			UploadJobStatus job = uploadJobService.submit(UPLOAD_PURPOSE, upload, resumeService::uploadResume);
+			URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}")
+					.buildAndExpand(job.getJobId()).toUri();
+			return ResponseEntity.accepted().location(location).body(job);
+		} catch (TaskRejectedException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, String.valueOf(UPLOAD_RETRY_AFTER_SECONDS)).build();
 		}
 	}
 
 	/**
-	 * Admin endpoint to get all resumes
+	 * Admin endpoint to poll a background resume upload
+	 */
+	@GetMapping("/resume/upload-jobs/{jobId}")
+	public ResponseEntity<UploadJobStatus> getUploadJob(@PathVariable String jobId,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized access to resume upload job");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		return ResponseEntity.ok(uploadJobService.getStatus(UPLOAD_PURPOSE, jobId));
+	}
+
+	/**
+	 * Admin endpoint to start a chunked resume upload. Name, type and size are
+	 * validated up front so a bad file is rejected before any content is sent.
+	 */
+	@PostMapping("/resume/uploads")
+	public ResponseEntity<ChunkedUploadStatus> startChunkedUpload(@Valid @RequestBody ChunkedUploadInitRequest request,
+			@RequestHeader("X-ADMIN-TOKEN") String token) throws IOException {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized chunked resume upload attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		String validationError = resumeService.validateResumeFile(request.getFileName(), request.getContentType(),
+				request.getFileSize());
+		if (validationError != null) {
+			throw new IllegalArgumentException(validationError);
+		}
+
+		ChunkedUploadStatus status = chunkedUploadStore.create(UPLOAD_PURPOSE, request.getFileName(),
+				request.getContentType(), request.getFileSize());
+		return ResponseEntity.status(HttpStatus.CREATED).body(status);
+	}
+
+	/**
+	 * Admin endpoint to get the status of a chunked upload, used to resume after
+	 * a dropped connection
+	 */
+	@GetMapping("/resume/uploads/{uploadId}")
+	public ResponseEntity<ChunkedUploadStatus> getChunkedUploadStatus(@PathVariable String uploadId,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized access to chunked resume upload status");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		return ResponseEntity.ok(chunkedUploadStore.status(UPLOAD_PURPOSE, uploadId));
+	}
+
+	/**
+	 * Admin endpoint to send one chunk of a resume upload as the raw request
+	 * body. The body is streamed to temp storage, never buffered in memory.
+	 */
+	@PutMapping(value = "/resume/uploads/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public ResponseEntity<ChunkedUploadStatus> uploadChunk(@PathVariable String uploadId, @PathVariable int index,
+			@RequestHeader("X-ADMIN-TOKEN") String token, HttpServletRequest request) throws IOException {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized chunked resume upload attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		ChunkedUploadStatus status = chunkedUploadStore.writeChunk(UPLOAD_PURPOSE, uploadId, index,
+				request.getInputStream(), request.getContentLengthLong());
+		return ResponseEntity.ok(status);
+	}
+
+	/**
+	 * Admin endpoint to finish a chunked upload and store the resume
+	 */
+	@PostMapping("/resume/uploads/{uploadId}/complete")
+	public ResponseEntity<ResumeUploadResponse> completeChunkedUpload(@PathVariable String uploadId,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized chunked resume upload attempt");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ResumeUploadResponse.builder().success(false)
+					.message("Access denied").errorCode("UNAUTHORIZED").build());
+		}
+
+		StagedUpload upload = chunkedUploadStore.complete(UPLOAD_PURPOSE, uploadId);
+		try {
+			return uploadResponse(resumeService.uploadResume(upload));
+		} finally {
+			chunkedUploadStore.discard(upload);
+		}
+	}
+
+	/**
+	 * Admin endpoint to abort a chunked upload
+	 */
+	@DeleteMapping("/resume/uploads/{uploadId}")
+	public ResponseEntity<String> abortChunkedUpload(@PathVariable String uploadId,
+			@RequestHeader("X-ADMIN-TOKEN") String token) {
+
+		if (!ADMIN_TOKEN.equals(token)) {
+			log.warn("Unauthorized attempt to abort chunked resume upload");
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Access denied");
+		}
+
+		chunkedUploadStore.abort(UPLOAD_PURPOSE, uploadId);
+		return ResponseEntity.ok("Upload aborted");
+	}
+
+	/**
+	 * Admin endpoint to list resumes, latest first. Pass the X-Next-Cursor
+	 * response header back as "after" to get the next page.
 	 */
 	@GetMapping("/resumes")
-	public ResponseEntity<List<ResumeResponse>> getAllResumes(@RequestHeader("X-ADMIN-TOKEN") String token) {
+	@CrossOrigin(exposedHeaders = Cursors.NEXT_CURSOR_HEADER)
+	public ResponseEntity<List<ResumeResponse>> getAllResumes(@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String after, @RequestHeader("X-ADMIN-TOKEN") String token) {
 
 		if (!ADMIN_TOKEN.equals(token)) {
 			log.warn("Unauthorized access to resumes list");
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 		}
 
-		log.debug("Admin requesting all resumes list");
-		List<ResumeResponse> resumes = resumeService.getAllResumes();
-		return ResponseEntity.ok(resumes);
+		log.debug("Admin requesting resumes list");
+		CursorPage<ResumeResponse> page = resumeService.getAllResumes(Cursors.limit(limit, MAX_PAGE_SIZE), after);
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.nextCursor() != null) {
+			response.header(Cursors.NEXT_CURSOR_HEADER, page.nextCursor());
+		}
+		return response.body(page.items());
 	}
 
 	/**
@@ -206,4 +435,26 @@ public class ResumeController {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Resume not found with ID: " + id);
 		}
 	}
+
+	/**
+	 * Map an upload result to its HTTP status
+	 */
+	private ResponseEntity<ResumeUploadResponse> uploadResponse(ResumeUploadResponse response) {
+		if (response.isSuccess()) {
+			return ResponseEntity.ok(response);
+		} else {
+			HttpStatus status = HttpStatus.BAD_REQUEST;
+			if ("FILE_READ_ERROR".equals(response.getErrorCode()) || "INTERNAL_ERROR".equals(response.getErrorCode())) {
+				status = HttpStatus.INTERNAL_SERVER_ERROR;
+			}
+			return ResponseEntity.status(status).body(response);
+		}
+	}
+
+	/**
+	 * Strong ETag for resume content, taken from its SHA-256
+	 */
+	private String etag(ResumeEntity resume) {
+		return "\"" + resume.getContentHash() + "\"";
+	}
 }
\ No newline at end of file
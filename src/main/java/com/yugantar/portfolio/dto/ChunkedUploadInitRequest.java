@@ -0,0 +1,22 @@
+package com.yugantar.portfolio.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadInitRequest {
+
+	@NotBlank(message = "File name is required")
+	private String fileName;
+
+	@NotBlank(message = "Content type is required")
+	private String contentType;
+
+	@Positive(message = "File size must be greater than zero")
+	private long fileSize; // total size in bytes
+}
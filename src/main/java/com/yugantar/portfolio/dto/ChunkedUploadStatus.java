@@ -0,0 +1,21 @@
+package com.yugantar.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChunkedUploadStatus {
+	private String uploadId;
+	private String fileName;
+	private long fileSize;
+	private int chunkSize;
+	private int totalChunks;
+	private int nextChunk; // index of the next chunk to send, equals totalChunks when all are received
+	private long receivedBytes;
+	private boolean complete;
+}
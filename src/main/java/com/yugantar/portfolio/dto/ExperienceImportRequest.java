@@ -0,0 +1,18 @@
+package com.yugantar.portfolio.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExperienceImportRequest {
+
+	@NotEmpty(message = "At least one experience is required")
+	private List<@Valid ExperienceRequest> experiences;
+}
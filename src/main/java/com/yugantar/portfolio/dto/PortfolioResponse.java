@@ -0,0 +1,32 @@
+package com.yugantar.portfolio.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Several portfolio sections in one document. Sections that were not
+ * requested are left out; sections that failed are listed in errors.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PortfolioResponse {
+	private List<SkillResponse> skills;
+	private List<ProjectResponse> projects;
+	private List<ExperienceResponse> experiences;
+	private List<EducationResponse> educations;
+	private List<AwardResponse> awards;
+	private List<CertificationResponse> certifications;
+	private ProfilePhotoInfo profilePhoto;
+	private ResumeDownloadInfo resume;
+	private Map<String, String> errors; // Section key to error message
+}
@@ -0,0 +1,29 @@
+package com.yugantar.portfolio.dto;
+
+import java.util.Arrays;
+
+/**
+ * Sections that can be requested from the combined portfolio endpoint
+ */
+public enum PortfolioSection {
+	SKILLS("skills"), PROJECTS("projects"), EXPERIENCES("experiences"), EDUCATIONS("educations"), AWARDS("awards"),
+	CERTIFICATIONS("certifications"), PROFILE_PHOTO("profilePhoto"), RESUME("resume");
+
+	private final String key;
+
+	PortfolioSection(String key) {
+		this.key = key;
+	}
+
+	/**
+	 * Name used in the sections parameter and as the JSON property
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	public static PortfolioSection fromKey(String key) {
+		return Arrays.stream(values()).filter(section -> section.key.equalsIgnoreCase(key.trim())).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown portfolio section: " + key.trim()));
+	}
+}
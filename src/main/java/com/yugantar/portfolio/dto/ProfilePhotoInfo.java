@@ -12,10 +12,13 @@ import lombok.NoArgsConstructor;
 public class ProfilePhotoInfo {
 	private boolean available;
 	private String imageUrl;
+	private String srcset; // Downscaled variants for <img srcset>
 	private String fileName;
 	private String fileFormat;
 	private String message;
 	private Long photoId;
 	private Integer imageWidth;
 	private Integer imageHeight;
+	private String blurHash; // Placeholder to paint until the image has loaded
+	private String dominantColor; // #rrggbb, fallback background
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.yugantar.portfolio.dto;
 
+import com.yugantar.portfolio.upload.UploadOutcome;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,9 +11,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ProfilePhotoUploadResponse {
+public class ProfilePhotoUploadResponse implements UploadOutcome {
 	private boolean success;
 	private String message;
 	private ProfilePhotoResponse photoInfo;
 	private String errorCode; // For specific error handling on frontend
+	private boolean duplicate; // Same content was already uploaded and has been re-activated
 }
\ No newline at end of file
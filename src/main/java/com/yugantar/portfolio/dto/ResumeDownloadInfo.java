@@ -15,4 +15,5 @@ public class ResumeDownloadInfo {
 	private String fileFormat;
 	private String message;
 	private Long resumeId;
+	private String previewImageUrl; // first page thumbnail, PDF only
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.yugantar.portfolio.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadJobStatus {
+	private String jobId;
+	private State state;
+	private String fileName;
+	private LocalDateTime submittedDate;
+	private LocalDateTime finishedDate;
+	private Object result; // Upload response once the job has finished
+
+	public enum State {
+		QUEUED, PROCESSING, SUCCEEDED, FAILED
+	}
+}
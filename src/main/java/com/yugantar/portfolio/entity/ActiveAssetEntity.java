@@ -0,0 +1,35 @@
+package com.yugantar.portfolio.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pointer to the active version of an asset, one row per asset type. Changing
+ * the active asset updates only this row, with a compare-and-set on version.
+ */
+@Entity
+@Table(name = "active_asset")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActiveAssetEntity {
+
+	@Id
+	@Enumerated(EnumType.STRING)
+	@Column(length = 32)
+	private AssetType assetType;
+
+	private Long assetId; // null when no version is active
+
+	@Column(nullable = false)
+	private long version; // bumped on every change
+}
@@ -0,0 +1,18 @@
+package com.yugantar.portfolio.entity;
+
+/**
+ * Kinds of uploaded asset that have a single active version
+ */
+public enum AssetType {
+	RESUME("resumes"), PROFILE_PHOTO("profile_photos");
+
+	private final String tableName;
+
+	AssetType(String tableName) {
+		this.tableName = tableName;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+}
@@ -1,10 +1,15 @@
 package com.yugantar.portfolio.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -13,7 +18,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "awards")
+@Table(name = "awards", indexes = {
+		@Index(name = "idx_awards_award_name", columnList = "award_name, id"),
+		@Index(name = "idx_awards_award_company_name", columnList = "award_company_name, id") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "awards")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -3,12 +3,18 @@ package com.yugantar.portfolio.entity;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,7 +22,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "experiences")
+@Table(name = "experiences", indexes = {
+		@Index(name = "idx_experiences_start_date", columnList = "start_date, id"),
+		@Index(name = "idx_experiences_company_name", columnList = "company_name, id"),
+		@Index(name = "idx_experiences_period", columnList = "start_date, end_date") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "experiences")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,6 +55,10 @@ public class ExperienceEntity {
 	@Column(columnDefinition = "TEXT")
 	private String description;
 
+	// Where the skills are not fetched with the rows, e.g. for a keyset page,
+	// they are loaded for up to this many experiences per query
 	@ElementCollection
+	@BatchSize(size = 100)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "experience-skills")
 	private List<String> skills;
 }
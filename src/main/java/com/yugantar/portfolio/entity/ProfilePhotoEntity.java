@@ -7,7 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -16,7 +16,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "profile_photos")
+@Table(name = "profile_photos", indexes = {
+		@Index(name = "idx_profile_photos_uploaded_date", columnList = "uploaded_date, id"),
+		@Index(name = "idx_profile_photos_content_hash", columnList = "content_hash"),
+		@Index(name = "idx_profile_photos_original_content_hash", columnList = "original_content_hash") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,20 +40,29 @@ public class ProfilePhotoEntity {
 	private String fileFormat; // JPG, PNG, JPEG, WEBP
 
 	@Column(nullable = false)
-	private Long fileSize; // in bytes
+	private Long fileSize; // in bytes, of the served image
 
 	@Column(nullable = false, length = 100)
 	private String contentType;
 
-	@Lob
-	@Column(nullable = false, columnDefinition = "LONGBLOB")
-	private byte[] imageData;
+	@Column(length = 64)
+	private String contentHash; // SHA-256 of the served image, also its BlobStore key
+
+	// The upload as received, kept for admin download when the served image was
+	// re-encoded from it; null when the upload is served as is
+	@Column(length = 64)
+	private String originalContentHash;
+
+	private Long originalFileSize;
+
+	@Column(length = 100)
+	private String originalContentType;
 
 	@Column(nullable = false)
 	private LocalDateTime uploadedDate;
 
 	@Column(nullable = false)
-	private boolean isActive = true; // Only one profile photo can be active at a time
+	private boolean isActive = true; // Mirrors the active_asset pointer, which is authoritative
 
 	@Column(name = "image_width")
 	private Integer imageWidth;
@@ -58,6 +70,12 @@ public class ProfilePhotoEntity {
 	@Column(name = "image_height")
 	private Integer imageHeight;
 
+	@Column(length = 64)
+	private String blurHash; // Placeholder painted before the image loads
+
+	@Column(length = 7)
+	private String dominantColor; // #rrggbb
+
 	@PrePersist
 	protected void onCreate() {
 		if (uploadedDate == null) {
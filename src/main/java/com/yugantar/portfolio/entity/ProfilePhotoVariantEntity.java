@@ -0,0 +1,60 @@
+package com.yugantar.portfolio.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A downscaled copy of a profile photo, generated at upload time
+ */
+@Entity
+@Table(name = "profile_photo_variants", indexes = @Index(name = "idx_profile_photo_variants_photo", columnList = "photo_id, width"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProfilePhotoVariantEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long photoId;
+
+	@Column(nullable = false)
+	private int width; // in pixels
+
+	@Column(nullable = false)
+	private int height; // in pixels
+
+	@Column(nullable = false, length = 100)
+	private String contentType;
+
+	@Column(nullable = false)
+	private Long fileSize; // in bytes
+
+	@Column(nullable = false, length = 64)
+	private String contentHash; // SHA-256 of the image, also its BlobStore key
+
+	@Column(nullable = false)
+	private LocalDateTime createdDate;
+
+	@PrePersist
+	protected void onCreate() {
+		if (createdDate == null) {
+			createdDate = LocalDateTime.now();
+		}
+	}
+}
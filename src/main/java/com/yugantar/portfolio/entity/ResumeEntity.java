@@ -7,7 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -16,7 +16,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+		@Index(name = "idx_resumes_uploaded_date", columnList = "uploaded_date, id"),
+		@Index(name = "idx_resumes_content_hash", columnList = "content_hash") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,15 +44,14 @@ public class ResumeEntity {
 	@Column(nullable = false, length = 100)
 	private String contentType;
 
-	@Lob
-	@Column(nullable = false, columnDefinition = "LONGBLOB")
-	private byte[] fileData;
+	@Column(length = 64)
+	private String contentHash; // SHA-256 of the file, also its BlobStore key
 
 	@Column(nullable = false)
 	private LocalDateTime uploadedDate;
 
 	@Column(nullable = false)
-	private boolean isActive = true; // Only one resume can be active at a time
+	private boolean isActive = true; // Mirrors the active_asset pointer, which is authoritative
 
 	@PrePersist
 	protected void onCreate() {
@@ -0,0 +1,60 @@
+package com.yugantar.portfolio.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "resume_thumbnails", indexes = @Index(name = "idx_resume_thumbnails_resume", columnList = "resume_id, page_number, width"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumeThumbnailEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long resumeId;
+
+	@Column(nullable = false)
+	private int pageNumber; // 1-based
+
+	@Column(nullable = false)
+	private int width; // in pixels
+
+	@Column(nullable = false)
+	private int height; // in pixels
+
+	@Column(nullable = false, length = 100)
+	private String contentType;
+
+	@Column(nullable = false)
+	private Long fileSize; // in bytes
+
+	@Column(nullable = false, length = 64)
+	private String contentHash; // SHA-256 of the image, also its BlobStore key
+
+	@Column(nullable = false)
+	private LocalDateTime createdDate;
+
+	@PrePersist
+	protected void onCreate() {
+		if (createdDate == null) {
+			createdDate = LocalDateTime.now();
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.yugantar.portfolio.exception;
+
+/**
+ * Thrown when an upload cannot be admitted because in-flight ingests already
+ * use the memory budget
+ */
+public class IngestRejectedException extends RuntimeException {
+
+	private final long retryAfterSeconds;
+
+	public IngestRejectedException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
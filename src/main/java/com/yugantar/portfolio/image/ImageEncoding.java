@@ -0,0 +1,250 @@
+package com.yugantar.portfolio.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Resizing and encoding helpers shared by the image pipelines.
+ */
+public final class ImageEncoding {
+
+	private ImageEncoding() {
+	}
+
+	/**
+	 * Scale an image down to the given width, keeping the aspect ratio and any
+	 * alpha channel. Large reductions are done in steps of at most one half with
+	 * bicubic filtering, which avoids the aliasing of a single-pass scale.
+	 * 
+	 * @param source image to scale
+	 * @param width  target width in pixels
+	 * @return scaled image, or the source if it is not wider than the target
+	 */
+	public static BufferedImage scaleToWidth(BufferedImage source, int width) {
+		if (source.getWidth() <= width) {
+			return source;
+		}
+		int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+
+		BufferedImage current = source;
+		int currentWidth = source.getWidth();
+		int currentHeight = source.getHeight();
+		while (currentWidth != width || currentHeight != height) {
+			currentWidth = Math.max(width, currentWidth / 2);
+			currentHeight = Math.max(height, currentHeight / 2);
+			current = draw(current, currentWidth, currentHeight, hasAlpha(source));
+		}
+		return current;
+	}
+
+	/**
+	 * Turn an image upright according to its EXIF orientation, so it displays
+	 * correctly once the metadata is gone
+	 * 
+	 * @param source      decoded image, as stored
+	 * @param orientation EXIF orientation (1-8)
+	 * @return upright image, or the source for orientation 1
+	 */
+	public static BufferedImage applyOrientation(BufferedImage source, int orientation) {
+		int w = source.getWidth();
+		int h = source.getHeight();
+		AffineTransform transform = switch (orientation) {
+		case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0); // mirrored
+		case 3 -> new AffineTransform(-1, 0, 0, -1, w, h); // rotated 180
+		case 4 -> new AffineTransform(1, 0, 0, -1, 0, h); // mirrored vertically
+		case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0); // transposed
+		case 6 -> new AffineTransform(0, 1, -1, 0, h, 0); // rotated 90 clockwise
+		case 7 -> new AffineTransform(0, -1, -1, 0, h, w); // transversed
+		case 8 -> new AffineTransform(0, -1, 1, 0, 0, w); // rotated 90 counter-clockwise
+		default -> null;
+		};
+		if (transform == null) {
+			return source;
+		}
+
+		boolean swap = orientation >= 5;
+		BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h,
+				hasAlpha(source) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = target.createGraphics();
+		try {
+			g.drawImage(source, transform, null);
+		} finally {
+			g.dispose();
+		}
+		return target;
+	}
+
+	/**
+	 * Encode an image as JPEG
+	 * 
+	 * @param image       image to encode, alpha is dropped
+	 * @param quality     compression quality between 0 and 1
+	 * @param progressive whether to write a progressive scan
+	 * @return encoded bytes
+	 */
+	public static byte[] toJpeg(BufferedImage image, float quality, boolean progressive) throws IOException {
+		BufferedImage rgb = image.getType() == BufferedImage.TYPE_INT_RGB ? image
+				: draw(image, image.getWidth(), image.getHeight(), false);
+
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+		if (!writers.hasNext()) {
+			throw new IOException("No JPEG writer available");
+		}
+		ImageWriter writer = writers.next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		param.setCompressionQuality(quality);
+		if (progressive) {
+			param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(ios);
+			writer.write(null, new IIOImage(rgb, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Encode an image as PNG
+	 * 
+	 * @param image image to encode
+	 * @return encoded bytes
+	 */
+	public static byte[] toPng(BufferedImage image) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (!ImageIO.write(image, "png", out)) {
+			throw new IOException("No PNG writer available");
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Encode an image as PNG, using an 8-bit palette when it has at most 256
+	 * distinct colours. The palette keeps alpha, so the result is lossless.
+	 * 
+	 * @param image image to encode
+	 * @return encoded bytes
+	 */
+	public static byte[] toPalettePng(BufferedImage image) throws IOException {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+		Map<Integer, Integer> palette = new LinkedHashMap<>();
+		for (int pixel : pixels) {
+			if (palette.putIfAbsent(pixel, palette.size()) == null && palette.size() > 256) {
+				return toPng(image); // too many colours for a lossless palette
+			}
+		}
+
+		int size = palette.size();
+		byte[] r = new byte[size];
+		byte[] g = new byte[size];
+		byte[] b = new byte[size];
+		byte[] a = new byte[size];
+		palette.forEach((argb, index) -> {
+			a[index] = (byte) (argb >>> 24);
+			r[index] = (byte) (argb >> 16);
+			g[index] = (byte) (argb >> 8);
+			b[index] = (byte) (int) argb;
+		});
+		IndexColorModel colorModel = new IndexColorModel(8, size, r, g, b, a);
+
+		BufferedImage indexed = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, colorModel);
+		byte[] indices = new byte[pixels.length];
+		for (int i = 0; i < pixels.length; i++) {
+			indices[i] = palette.get(pixels[i]).byteValue();
+		}
+		indexed.getRaster().setDataElements(0, 0, width, height, indices);
+		return toPng(indexed);
+	}
+
+	/**
+	 * Check whether an ImageIO writer for a MIME type is installed, e.g. a WebP
+	 * plugin on the classpath
+	 */
+	public static boolean canWrite(String mimeType) {
+		return ImageIO.getImageWritersByMIMEType(mimeType).hasNext();
+	}
+
+	/**
+	 * Encode an image as WebP with the first installed WebP writer
+	 * 
+	 * @param image   image to encode
+	 * @param quality lossy compression quality between 0 and 1
+	 * @return encoded bytes
+	 */
+	public static byte[] toWebp(BufferedImage image, float quality) throws IOException {
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType("image/webp");
+		if (!writers.hasNext()) {
+			throw new IOException("No WebP writer available");
+		}
+		ImageWriter writer = writers.next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		if (param.canWriteCompressed()) {
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			String[] types = param.getCompressionTypes();
+			if (types != null && types.length > 0) {
+				param.setCompressionType(types[0]); // lossy comes first in the common plugins
+			}
+			param.setCompressionQuality(quality);
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(ios);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Check whether an image has an alpha channel
+	 */
+	public static boolean hasAlpha(BufferedImage image) {
+		return image.getColorModel().hasAlpha();
+	}
+
+	/**
+	 * Draw an image at a new size; without alpha, transparent areas become white
+	 */
+	private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+		BufferedImage target = new BufferedImage(width, height,
+				alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = target.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			if (!alpha) {
+				g.setColor(Color.WHITE);
+				g.fillRect(0, 0, width, height);
+			}
+			g.drawImage(source, 0, 0, width, height, null);
+		} finally {
+			g.dispose();
+		}
+		return target;
+	}
+}
@@ -0,0 +1,152 @@
+package com.yugantar.portfolio.image;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Tiny stand-ins for an image that a page can paint before the image itself
+ * has loaded: a BlurHash string and the dominant colour.
+ */
+public final class ImagePlaceholder {
+
+	private static final String BASE83 = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+	// Both are computed from a copy this wide; more pixels do not change the result
+	private static final int SAMPLE_WIDTH = 32;
+
+	private ImagePlaceholder() {
+	}
+
+	/**
+	 * Encode an image as a BlurHash with 4 components along its longer side and
+	 * 3 along the shorter one
+	 *
+	 * @param image decoded image
+	 * @return BlurHash string, 28 characters long
+	 */
+	public static String blurHash(BufferedImage image) {
+		BufferedImage sample = ImageEncoding.scaleToWidth(image, SAMPLE_WIDTH);
+		int componentsX = sample.getWidth() >= sample.getHeight() ? 4 : 3;
+		int componentsY = sample.getWidth() >= sample.getHeight() ? 3 : 4;
+
+		int width = sample.getWidth();
+		int height = sample.getHeight();
+		int[] pixels = sample.getRGB(0, 0, width, height, null, 0, width);
+
+		double[][] factors = new double[componentsX * componentsY][];
+		for (int j = 0; j < componentsY; j++) {
+			for (int i = 0; i < componentsX; i++) {
+				factors[j * componentsX + i] = basisFactor(pixels, width, height, i, j);
+			}
+		}
+
+		StringBuilder hash = new StringBuilder();
+		encode83(hash, (componentsX - 1) + (componentsY - 1) * 9, 1);
+
+		double maximumValue;
+		if (factors.length > 1) {
+			double actualMax = 0;
+			for (int k = 1; k < factors.length; k++) {
+				for (double value : factors[k]) {
+					actualMax = Math.max(actualMax, Math.abs(value));
+				}
+			}
+			int quantisedMax = (int) Math.max(0, Math.min(82, Math.floor(actualMax * 166 - 0.5)));
+			maximumValue = (quantisedMax + 1) / 166.0;
+			encode83(hash, quantisedMax, 1);
+		} else {
+			maximumValue = 1;
+			encode83(hash, 0, 1);
+		}
+
+		double[] dc = factors[0];
+		encode83(hash, (linearToSrgb(dc[0]) << 16) + (linearToSrgb(dc[1]) << 8) + linearToSrgb(dc[2]), 4);
+		for (int k = 1; k < factors.length; k++) {
+			double[] ac = factors[k];
+			encode83(hash, quantiseAc(ac[0], maximumValue) * 19 * 19 + quantiseAc(ac[1], maximumValue) * 19
+					+ quantiseAc(ac[2], maximumValue), 2);
+		}
+		return hash.toString();
+	}
+
+	/**
+	 * Find the most common colour, counting pixels into 4-bit-per-channel
+	 * buckets and averaging the fullest one. Mostly transparent pixels are
+	 * ignored.
+	 *
+	 * @param image decoded image
+	 * @return colour as #rrggbb
+	 */
+	public static String dominantColor(BufferedImage image) {
+		BufferedImage sample = ImageEncoding.scaleToWidth(image, SAMPLE_WIDTH);
+		int[] pixels = sample.getRGB(0, 0, sample.getWidth(), sample.getHeight(), null, 0, sample.getWidth());
+
+		int[] counts = new int[4096];
+		long[][] sums = new long[4096][3];
+		for (int pixel : pixels) {
+			if ((pixel >>> 24) < 128) {
+				continue;
+			}
+			int r = (pixel >> 16) & 0xFF;
+			int g = (pixel >> 8) & 0xFF;
+			int b = pixel & 0xFF;
+			int bucket = (r >> 4) << 8 | (g >> 4) << 4 | (b >> 4);
+			counts[bucket]++;
+			sums[bucket][0] += r;
+			sums[bucket][1] += g;
+			sums[bucket][2] += b;
+		}
+
+		int best = 0;
+		for (int bucket = 1; bucket < counts.length; bucket++) {
+			if (counts[bucket] > counts[best]) {
+				best = bucket;
+			}
+		}
+		if (counts[best] == 0) {
+			return "#ffffff"; // fully transparent
+		}
+		return String.format("#%02x%02x%02x", sums[best][0] / counts[best], sums[best][1] / counts[best],
+				sums[best][2] / counts[best]);
+	}
+
+	private static double[] basisFactor(int[] pixels, int width, int height, int i, int j) {
+		double r = 0;
+		double g = 0;
+		double b = 0;
+		double normalisation = (i == 0 && j == 0) ? 1 : 2;
+		for (int y = 0; y < height; y++) {
+			double cosY = Math.cos(Math.PI * j * y / height);
+			for (int x = 0; x < width; x++) {
+				double basis = normalisation * Math.cos(Math.PI * i * x / width) * cosY;
+				int pixel = pixels[y * width + x];
+				r += basis * srgbToLinear((pixel >> 16) & 0xFF);
+				g += basis * srgbToLinear((pixel >> 8) & 0xFF);
+				b += basis * srgbToLinear(pixel & 0xFF);
+			}
+		}
+		double scale = 1.0 / (width * height);
+		return new double[] { r * scale, g * scale, b * scale };
+	}
+
+	private static int quantiseAc(double value, double maximumValue) {
+		double scaled = Math.copySign(Math.sqrt(Math.abs(value / maximumValue)), value);
+		return (int) Math.max(0, Math.min(18, Math.floor(scaled * 9 + 9.5)));
+	}
+
+	private static double srgbToLinear(int value) {
+		double v = value / 255.0;
+		return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+	}
+
+	private static int linearToSrgb(double value) {
+		double v = Math.max(0, Math.min(1, value));
+		return v <= 0.0031308 ? (int) (v * 12.92 * 255 + 0.5) : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+	}
+
+	private static void encode83(StringBuilder hash, int value, int length) {
+		for (int i = 1; i <= length; i++) {
+			int digit = (int) (value / Math.pow(83, length - i)) % 83;
+			hash.append(BASE83.charAt(digit));
+		}
+	}
+}
@@ -0,0 +1,238 @@
+package com.yugantar.portfolio.image;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the format and pixel dimensions of an image from its header without
+ * decoding any pixel data. Only the bytes up to the size field are read: the
+ * PNG IHDR chunk, the JPEG segments before the first SOF marker (including the
+ * EXIF orientation), and the first chunk of a WebP RIFF container (VP8, VP8L
+ * or VP8X).
+ */
+public final class ImageProbe {
+
+	/**
+	 * Format and dimensions read from an image header
+	 * 
+	 * @param width       stored width, before any EXIF orientation is applied
+	 * @param height      stored height, before any EXIF orientation is applied
+	 * @param orientation EXIF orientation (1-8), 1 when there is none
+	 */
+	public record ImageInfo(String contentType, int width, int height, int orientation) {
+
+		public ImageInfo(String contentType, int width, int height) {
+			this(contentType, width, height, 1);
+		}
+	}
+
+	private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+	// Give up on JPEGs whose frame header is not within this many bytes
+	private static final int MAX_JPEG_HEADER_BYTES = 1024 * 1024;
+
+	private ImageProbe() {
+	}
+
+	/**
+	 * Probe an image stream. The stream is read only as far as the header and
+	 * is not closed.
+	 *
+	 * @param in image content
+	 * @return format and dimensions, or null if the content is not a
+	 *         recognised PNG, JPEG or WebP image
+	 */
+	public static ImageInfo probe(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(
+				in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 512));
+		byte[] magic = new byte[4];
+		try {
+			data.readFully(magic);
+			if (magic[0] == (byte) 0xFF && magic[1] == (byte) 0xD8 && magic[2] == (byte) 0xFF) {
+				return probeJpeg(data, magic[3] & 0xFF);
+			}
+			if (Arrays.equals(magic, 0, 4, PNG_SIGNATURE, 0, 4)) {
+				return probePng(data);
+			}
+			if (magic[0] == 'R' && magic[1] == 'I' && magic[2] == 'F' && magic[3] == 'F') {
+				return probeWebp(data);
+			}
+		} catch (EOFException e) {
+			// Truncated header
+		}
+		return null;
+	}
+
+	/**
+	 * Walk the JPEG segments up to the first start-of-frame marker, which holds
+	 * the height and width
+	 */
+	private static ImageInfo probeJpeg(DataInputStream data, int firstMarker) throws IOException {
+		long consumed = 4;
+		int marker = firstMarker;
+		int orientation = 1;
+		while (consumed < MAX_JPEG_HEADER_BYTES) {
+			// Standalone markers carry no length
+			if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+				marker = nextMarker(data);
+				consumed += 2;
+				continue;
+			}
+			if (marker == 0xD9 || marker == 0xDA) {
+				return null; // end of image or start of scan before any frame header
+			}
+
+			int length = data.readUnsignedShort();
+			if (length < 2) {
+				return null;
+			}
+			if (isStartOfFrame(marker)) {
+				data.readUnsignedByte(); // sample precision
+				int height = data.readUnsignedShort();
+				int width = data.readUnsignedShort();
+				return width > 0 && height > 0 ? new ImageInfo("image/jpeg", width, height, orientation) : null;
+			}
+			if (marker == 0xE1) {
+				byte[] segment = new byte[length - 2];
+				data.readFully(segment);
+				orientation = exifOrientation(segment, orientation);
+			} else {
+				data.skipNBytes(length - 2);
+			}
+			consumed += length + 2;
+			marker = nextMarker(data);
+		}
+		return null;
+	}
+
+	/**
+	 * Read the orientation tag (0x0112) from IFD0 of an APP1 Exif segment
+	 * 
+	 * @return orientation, or the fallback if the segment holds none
+	 */
+	private static int exifOrientation(byte[] segment, int fallback) {
+		// "Exif\0\0" followed by a TIFF header
+		if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+			return fallback;
+		}
+		ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+		if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+			tiff.order(ByteOrder.LITTLE_ENDIAN);
+		} else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+			return fallback;
+		}
+
+		int ifd = tiff.getInt(4);
+		if (ifd < 8 || ifd + 2 > tiff.limit()) {
+			return fallback;
+		}
+		int entries = tiff.getShort(ifd) & 0xFFFF;
+		for (int i = 0; i < entries; i++) {
+			int entry = ifd + 2 + i * 12;
+			if (entry + 12 > tiff.limit()) {
+				break;
+			}
+			if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+				int value = tiff.getShort(entry + 8) & 0xFFFF;
+				return value >= 1 && value <= 8 ? value : fallback;
+			}
+		}
+		return fallback;
+	}
+
+	/**
+	 * Read the next marker code, skipping fill bytes
+	 */
+	private static int nextMarker(DataInputStream data) throws IOException {
+		if (data.readUnsignedByte() != 0xFF) {
+			throw new EOFException("Expected a JPEG marker");
+		}
+		int marker;
+		do {
+			marker = data.readUnsignedByte();
+		} while (marker == 0xFF);
+		return marker;
+	}
+
+	/**
+	 * SOF0-SOF15, except DHT (C4), JPG (C8) and DAC (CC), which share the range
+	 */
+	private static boolean isStartOfFrame(int marker) {
+		return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+	}
+
+	private static ImageInfo probePng(DataInputStream data) throws IOException {
+		byte[] rest = new byte[4];
+		data.readFully(rest);
+		if (!Arrays.equals(rest, 0, 4, PNG_SIGNATURE, 4, 8)) {
+			return null;
+		}
+		data.readInt(); // IHDR length
+		if (data.readInt() != 0x49484452) { // "IHDR"
+			return null;
+		}
+		int width = data.readInt();
+		int height = data.readInt();
+		return width > 0 && height > 0 ? new ImageInfo("image/png", width, height) : null;
+	}
+
+	private static ImageInfo probeWebp(DataInputStream data) throws IOException {
+		data.skipNBytes(4); // RIFF size
+		byte[] header = new byte[8];
+		data.readFully(header);
+		if (header[0] != 'W' || header[1] != 'E' || header[2] != 'B' || header[3] != 'P') {
+			return null;
+		}
+		String chunk = new String(header, 4, 4, StandardCharsets.US_ASCII);
+		data.skipNBytes(4); // chunk size
+
+		int width;
+		int height;
+		switch (chunk) {
+		case "VP8 " -> {
+			// Lossy: 3-byte frame tag, start code 9D 01 2A, then 14-bit width and height
+			data.skipNBytes(3);
+			if (data.readUnsignedByte() != 0x9D || data.readUnsignedByte() != 0x01
+					|| data.readUnsignedByte() != 0x2A) {
+				return null;
+			}
+			width = readLittleEndian(data, 2) & 0x3FFF;
+			height = readLittleEndian(data, 2) & 0x3FFF;
+		}
+		case "VP8L" -> {
+			// Lossless: signature 0x2F, then 14 bits each of width - 1 and height - 1
+			if (data.readUnsignedByte() != 0x2F) {
+				return null;
+			}
+			int bits = readLittleEndian(data, 4);
+			width = (bits & 0x3FFF) + 1;
+			height = ((bits >>> 14) & 0x3FFF) + 1;
+		}
+		case "VP8X" -> {
+			// Extended: 4 bytes of flags, then 24-bit canvas width - 1 and height - 1
+			data.skipNBytes(4);
+			width = readLittleEndian(data, 3) + 1;
+			height = readLittleEndian(data, 3) + 1;
+		}
+		default -> {
+			return null;
+		}
+		}
+		return width > 0 && height > 0 ? new ImageInfo("image/webp", width, height) : null;
+	}
+
+	private static int readLittleEndian(DataInputStream data, int bytes) throws IOException {
+		int value = 0;
+		for (int i = 0; i < bytes; i++) {
+			value |= data.readUnsignedByte() << (8 * i);
+		}
+		return value;
+	}
+}
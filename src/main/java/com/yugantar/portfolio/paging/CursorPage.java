@@ -0,0 +1,30 @@
+package com.yugantar.portfolio.paging;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing
+ * 
+ * @param items      items of this page
+ * @param nextCursor cursor of the next page, null on the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+	/**
+	 * Build a page from rows fetched with limit + 1; the extra row only signals
+	 * that another page exists
+	 * 
+	 * @param rows     fetched rows, at most limit + 1
+	 * @param limit    page size
+	 * @param cursorOf cursor pointing after a row
+	 * @param mapper   row to item mapping
+	 */
+	public static <R, T> CursorPage<T> of(List<R> rows, int limit, Function<R, String> cursorOf,
+			Function<R, T> mapper) {
+		boolean hasMore = rows.size() > limit;
+		List<R> page = hasMore ? rows.subList(0, limit) : rows;
+		String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+		return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+	}
+}
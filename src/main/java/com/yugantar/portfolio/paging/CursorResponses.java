@@ -0,0 +1,28 @@
+package com.yugantar.portfolio.paging;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Responses for keyset-paginated listings: the items as a JSON array, the
+ * next cursor in X-Next-Cursor and a ready-made link to the next page
+ */
+public final class CursorResponses {
+
+	private CursorResponses() {
+	}
+
+	public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.nextCursor() != null) {
+			String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after", page.nextCursor())
+					.build().toUriString();
+			response.header(Cursors.NEXT_CURSOR_HEADER, page.nextCursor()).header(HttpHeaders.LINK,
+					"<" + next + ">; rel=\"next\"");
+		}
+		return response.body(page.items());
+	}
+}
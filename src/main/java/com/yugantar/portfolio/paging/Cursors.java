@@ -0,0 +1,66 @@
+package com.yugantar.portfolio.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque keyset cursors. A cursor carries the sort key values of the last row
+ * of a page; the next page starts strictly after them, so paging costs one
+ * index range scan no matter how deep the client goes.
+ */
+public final class Cursors {
+
+	/** Response header carrying the cursor of the next page */
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private Cursors() {
+	}
+
+	/**
+	 * Encode sort key values into a cursor
+	 */
+	public static String encode(Object... values) {
+		return Arrays.stream(values)
+				.map(value -> ENCODER.encodeToString(String.valueOf(value).getBytes(StandardCharsets.UTF_8)))
+				.collect(Collectors.joining("."));
+	}
+
+	/**
+	 * Decode a cursor created by {@link #encode(Object...)}
+	 * 
+	 * @param cursor cursor from the client
+	 * @param parts  expected number of values
+	 * @return the values in order
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	public static String[] decode(String cursor, int parts) {
+		String[] encoded = cursor.split("\\.", -1);
+		if (encoded.length != parts) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+		try {
+			return Arrays.stream(encoded).map(part -> new String(DECODER.decode(part), StandardCharsets.UTF_8))
+					.toArray(String[]::new);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+	}
+
+	/**
+	 * Clamp a requested page size to [1, max], using max when none is given
+	 */
+	public static int limit(Integer requested, int max) {
+		if (requested == null) {
+			return max;
+		}
+		if (requested < 1) {
+			throw new IllegalArgumentException("Limit must be at least 1");
+		}
+		return Math.min(requested, max);
+	}
+}
@@ -0,0 +1,113 @@
+package com.yugantar.portfolio.paging;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+/**
+ * The orders a listing may be requested in, each on a non-null column backed
+ * by a (column, id) index. The id breaks ties, so every order is total and a
+ * page can resume strictly after the last row of the previous one.
+ * 
+ * The cursor records the order it was issued for; reusing it with another
+ * order is rejected instead of silently skipping or repeating rows.
+ */
+public final class KeysetOrder<E> {
+
+	private static final String ID = "id";
+
+	private final Function<E, Long> idOf;
+	private final Map<String, Key<E>> keys = new LinkedHashMap<>();
+
+	private KeysetOrder(Function<E, Long> idOf) {
+		this.idOf = idOf;
+		keys.put(ID, new Key<>(idOf::apply, Long::valueOf));
+	}
+
+	/**
+	 * Start a whitelist; ordering by id is always allowed and is the default
+	 */
+	public static <E> KeysetOrder<E> byId(Function<E, Long> idOf) {
+		return new KeysetOrder<>(idOf);
+	}
+
+	/**
+	 * Allow ordering by an entity property
+	 * 
+	 * @param property entity property name, also the orderBy value
+	 * @param valueOf  reads the property from a row
+	 * @param parser   reads the property back from its cursor text
+	 */
+	public KeysetOrder<E> and(String property, Function<E, ?> valueOf, Function<String, ?> parser) {
+		keys.put(property, new Key<>(valueOf, parser));
+		return this;
+	}
+
+	/**
+	 * Fetch one page
+	 * 
+	 * @param repository repository of the entity
+	 * @param orderBy    whitelisted property, id when null
+	 * @param direction  asc or desc, asc when null
+	 * @param limit      page size
+	 * @param after      cursor from the previous page, null for the first
+	 * @param mapper     row to item mapping
+	 * @throws IllegalArgumentException for an unknown order, direction or a
+	 *                                  cursor that does not fit them
+	 */
+	public <T> CursorPage<T> page(KeysetRepository<E> repository, String orderBy, String direction, int limit,
+			String after, Function<E, T> mapper) {
+		String property = orderBy == null ? ID : orderBy;
+		Key<E> key = keys.get(property);
+		if (key == null) {
+			throw new IllegalArgumentException("orderBy must be one of " + keys.keySet());
+		}
+		Sort.Direction sortDirection = direction(direction);
+		Sort sort = property.equals(ID) ? Sort.by(sortDirection, ID) : Sort.by(sortDirection, property, ID);
+
+		ScrollPosition position = after == null ? ScrollPosition.keyset() : position(property, sortDirection, key, after);
+		Window<E> window = repository.findBy(position, sort, Limit.of(limit));
+
+		List<E> rows = window.getContent();
+		String nextCursor = window.hasNext() && !rows.isEmpty()
+				? cursor(property, sortDirection, key, rows.get(rows.size() - 1))
+				: null;
+		return new CursorPage<>(rows.stream().map(mapper).toList(), nextCursor);
+	}
+
+	private String cursor(String property, Sort.Direction direction, Key<E> key, E row) {
+		return Cursors.encode(property, direction, key.valueOf().apply(row), idOf.apply(row));
+	}
+
+	private ScrollPosition position(String property, Sort.Direction direction, Key<E> key, String after) {
+		String[] parts = Cursors.decode(after, 4);
+		if (!parts[0].equals(property) || !parts[1].equals(direction.name())) {
+			throw new IllegalArgumentException("Cursor was issued for a different order");
+		}
+		Map<String, Object> values = new LinkedHashMap<>();
+		try {
+			values.put(property, key.parser().apply(parts[2]));
+			values.put(ID, Long.valueOf(parts[3]));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+		return ScrollPosition.forward(values);
+	}
+
+	private static Sort.Direction direction(String direction) {
+		if (direction == null) {
+			return Sort.Direction.ASC;
+		}
+		return Sort.Direction.fromOptionalString(direction)
+				.orElseThrow(() -> new IllegalArgumentException("direction must be asc or desc"));
+	}
+
+	private record Key<E>(Function<E, ?> valueOf, Function<String, ?> parser) {
+	}
+}
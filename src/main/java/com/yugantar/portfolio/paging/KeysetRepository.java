@@ -0,0 +1,20 @@
+package com.yugantar.portfolio.paging;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Mixed into repositories whose listings are paged with {@link KeysetOrder}
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T> extends Repository<T, Long> {
+
+	/**
+	 * Fetch the rows after a keyset position in the given order
+	 */
+	Window<T> findBy(ScrollPosition position, Sort sort, Limit limit);
+}
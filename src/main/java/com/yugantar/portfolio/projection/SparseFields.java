@@ -0,0 +1,151 @@
+package com.yugantar.portfolio.projection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * The response properties a listing may be narrowed to with ?fields=, each
+ * named like the entity attribute it is read from. Only the selected columns
+ * are queried, as a tuple projection, so a TEXT description nobody asked for
+ * is never read from the database, materialised or serialized.
+ *
+ * Items are returned as ordered maps holding exactly the selected properties,
+ * in whitelist order. The id is always included.
+ */
+public final class SparseFields<E> {
+
+	private static final String ID = "id";
+
+	private final Class<E> entity;
+	private final Set<String> columns = new LinkedHashSet<>();
+	private final Set<String> collections = new LinkedHashSet<>();
+
+	private SparseFields(Class<E> entity) {
+		this.entity = entity;
+		columns.add(ID);
+	}
+
+	/**
+	 * Start a whitelist for an entity
+	 */
+	public static <E> SparseFields<E> of(Class<E> entity) {
+		return new SparseFields<>(entity);
+	}
+
+	/**
+	 * Allow a single-valued attribute
+	 */
+	public SparseFields<E> column(String name) {
+		columns.add(name);
+		return this;
+	}
+
+	/**
+	 * Allow an element collection, read with one extra join query when selected
+	 */
+	public SparseFields<E> collection(String name) {
+		collections.add(name);
+		return this;
+	}
+
+	/**
+	 * Normalise a fields parameter for use in a cache key, so that the order of
+	 * the names and repeated names do not produce separate entries
+	 */
+	public static String key(String fields) {
+		return Arrays.stream(fields.split(",")).map(String::trim).filter(name -> !name.isEmpty()).distinct().sorted()
+				.collect(Collectors.joining(","));
+	}
+
+	/**
+	 * Read the selected properties of every row, ordered by id
+	 *
+	 * @param entityManager entity manager to query with
+	 * @param fields        comma-separated property names
+	 * @return one map per row
+	 * @throws IllegalArgumentException if a name is not whitelisted or none is
+	 *                                  given
+	 */
+	public List<Map<String, Object>> select(EntityManager entityManager, String fields) {
+		Set<String> requested = Arrays.stream(fields.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+				.collect(Collectors.toSet());
+		if (requested.isEmpty()) {
+			throw new IllegalArgumentException("fields must name at least one of " + allowed());
+		}
+		for (String name : requested) {
+			if (!columns.contains(name) && !collections.contains(name)) {
+				throw new IllegalArgumentException("Unknown field '" + name + "', expected any of " + allowed());
+			}
+		}
+		List<String> selectedColumns = columns.stream().filter(name -> name.equals(ID) || requested.contains(name))
+				.toList();
+		List<String> selectedCollections = collections.stream().filter(requested::contains).toList();
+
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<E> root = query.from(entity);
+		List<Selection<?>> selections = new ArrayList<>();
+		for (String name : selectedColumns) {
+			selections.add(root.get(name).alias(name));
+		}
+		query.multiselect(selections).orderBy(cb.asc(root.get(ID)));
+
+		List<Map<String, Object>> items = new ArrayList<>();
+		Map<Object, Map<String, Object>> byId = new HashMap<>();
+		for (Tuple row : entityManager.createQuery(query).getResultList()) {
+			Map<String, Object> item = new LinkedHashMap<>();
+			for (String name : selectedColumns) {
+				item.put(name, row.get(name));
+			}
+			for (String name : selectedCollections) {
+				item.put(name, new ArrayList<>());
+			}
+			items.add(item);
+			byId.put(row.get(ID), item);
+		}
+
+		for (String name : selectedCollections) {
+			if (!items.isEmpty()) {
+				fillCollection(entityManager, name, byId);
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Add the elements of a collection to the items of their owners, with one
+	 * join query for all rows rather than one query per row
+	 */
+	@SuppressWarnings("unchecked")
+	private void fillCollection(EntityManager entityManager, String name, Map<Object, Map<String, Object>> byId) {
+		CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+		Root<E> root = query.from(entity);
+		query.multiselect(root.get(ID), root.join(name));
+		for (Tuple row : entityManager.createQuery(query).getResultList()) {
+			Map<String, Object> owner = byId.get(row.get(0));
+			if (owner != null) {
+				((List<Object>) owner.get(name)).add(row.get(1));
+			}
+		}
+	}
+
+	private Set<String> allowed() {
+		Set<String> allowed = new LinkedHashSet<>(columns);
+		allowed.addAll(collections);
+		return allowed;
+	}
+}
@@ -0,0 +1,29 @@
+package com.yugantar.portfolio.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yugantar.portfolio.entity.ActiveAssetEntity;
+import com.yugantar.portfolio.entity.AssetType;
+
+public interface ActiveAssetRepository extends JpaRepository<ActiveAssetEntity, AssetType> {
+
+	// Read the pointer without attaching it to the persistence context
+	@Query("SELECT new com.yugantar.portfolio.entity.ActiveAssetEntity(a.assetType, a.assetId, a.version) FROM ActiveAssetEntity a WHERE a.assetType = :assetType")
+	Optional<ActiveAssetEntity> findPointer(@Param("assetType") AssetType assetType);
+
+	// Point at a new asset if nobody changed the pointer since it was read
+	@Modifying
+	@Query("UPDATE ActiveAssetEntity a SET a.assetId = :assetId, a.version = a.version + 1 WHERE a.assetType = :assetType AND a.version = :version")
+	int compareAndSet(@Param("assetType") AssetType assetType, @Param("version") long version,
+			@Param("assetId") Long assetId);
+
+	// Clear the pointer only if it still points at the given asset
+	@Modifying
+	@Query("UPDATE ActiveAssetEntity a SET a.assetId = NULL, a.version = a.version + 1 WHERE a.assetType = :assetType AND a.assetId = :assetId")
+	int clearIfActive(@Param("assetType") AssetType assetType, @Param("assetId") Long assetId);
+}
@@ -1,8 +1,20 @@
 package com.yugantar.portfolio.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.yugantar.portfolio.entity.CertificationEntity;
+import com.yugantar.portfolio.paging.KeysetRepository;
+
+import jakarta.persistence.QueryHint;
+
+public interface CertificationRepository extends JpaRepository<CertificationEntity, Long>, KeysetRepository<CertificationEntity> {
 
-public interface CertificationRepository extends JpaRepository<CertificationEntity, Long> {
+	// Results come from the query cache until one of the rows changes
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<CertificationEntity> findAll();
 }
@@ -2,10 +2,21 @@ package com.yugantar.portfolio.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.yugantar.portfolio.entity.EducationEntity;
+import com.yugantar.portfolio.paging.KeysetRepository;
+
+import jakarta.persistence.QueryHint;
+
+public interface EducationRepository extends JpaRepository<EducationEntity, Long>, KeysetRepository<EducationEntity> {
+
+	// Results come from the query cache until one of the rows changes
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<EducationEntity> findAll();
 
-public interface EducationRepository extends JpaRepository<EducationEntity, Long> {
 	List<EducationEntity> findByStartDateAndEndDate(String startDate, String endDate);
-}
\ No newline at end of file
+}
@@ -3,14 +3,45 @@ package com.yugantar.portfolio.repository;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.yugantar.portfolio.entity.ExperienceEntity;
+import com.yugantar.portfolio.paging.KeysetRepository;
 
-public interface ExperienceRepository extends JpaRepository<ExperienceEntity, Long> {
+import jakarta.persistence.QueryHint;
 
-	@Query("SELECT e FROM ExperienceEntity e WHERE " + "(:startDate <= e.endDate AND :endDate >= e.startDate)")
-	List<ExperienceEntity> findOverlappingExperiences(LocalDate startDate, LocalDate endDate);
+public interface ExperienceRepository extends JpaRepository<ExperienceEntity, Long>, KeysetRepository<ExperienceEntity> {
 
+	// Results come from the query cache until one of the rows changes. The
+	// skills are fetched in the same query, so the list can be mapped and
+	// serialized after the session is gone, e.g. on the section executor
+	@Override
+	@EntityGraph(attributePaths = "skills")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<ExperienceEntity> findAll();
+
+	// A current experience has no end date and runs until today, so it overlaps
+	// every period that ends on or after its start. Served by the
+	// (start_date, end_date) index.
+	@Query("SELECT e FROM ExperienceEntity e WHERE e.startDate <= :endDate"
+			+ " AND (e.current = true OR e.endDate IS NULL OR e.endDate >= :startDate)"
+			+ " AND (:excludeId IS NULL OR e.id <> :excludeId)")
+	List<ExperienceEntity> findOverlappingExperiences(LocalDate startDate, LocalDate endDate, Long excludeId);
+
+	// Only the columns needed to check a batch of new periods against the stored ones
+	List<Period> findAllByOrderByStartDateAsc();
+
+	interface Period {
+		Long getId();
+
+		LocalDate getStartDate();
+
+		LocalDate getEndDate();
+
+		boolean isCurrent();
+	}
 }
@@ -0,0 +1,90 @@
+package com.yugantar.portfolio.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * InputStream over a LONGBLOB column that pages the content out of MySQL with
+ * SUBSTRING() in fixed-size chunks. Connector/J materializes a whole row when it
+ * is read, so selecting the column directly would pull the full file onto the
+ * heap; paging keeps memory per open stream bounded by the chunk size.
+ *
+ * Each chunk is a query of its own, so the stream must be read inside one
+ * REPEATABLE READ transaction for the chunks to belong to the same version of
+ * the row.
+ */
+class JdbcBlobInputStream extends InputStream {
+
+	static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String chunkSql;
+	private final Long id;
+	private final long length;
+	private final int chunkSize;
+
+	private byte[] buffer = new byte[0];
+	private int bufferPos;
+	private long position; // bytes of the blob already handed out
+
+	JdbcBlobInputStream(JdbcTemplate jdbcTemplate, String table, String column, Long id, long length,
+			int chunkSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.chunkSql = "SELECT SUBSTRING(" + column + ", ?, ?) FROM " + table + " WHERE id = ?";
+		this.id = id;
+		this.length = length;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!fill()) {
+			return -1;
+		}
+		position++;
+		return buffer[bufferPos++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!fill()) {
+			return -1;
+		}
+		int n = Math.min(len, buffer.length - bufferPos);
+		System.arraycopy(buffer, bufferPos, b, off, n);
+		bufferPos += n;
+		position += n;
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return buffer.length - bufferPos;
+	}
+
+	private boolean fill() throws IOException {
+		if (bufferPos < buffer.length) {
+			return true;
+		}
+		if (position >= length) {
+			return false;
+		}
+		try {
+			// SUBSTRING is 1-based
+			byte[] chunk = jdbcTemplate.queryForObject(chunkSql, byte[].class, position + 1, chunkSize, id);
+			if (chunk == null || chunk.length == 0) {
+				throw new IOException("Blob for ID " + id + " ended at " + position + " of " + length + " bytes");
+			}
+			buffer = chunk;
+			bufferPos = 0;
+			return true;
+		} catch (RuntimeException e) {
+			throw new IOException("Error reading blob chunk for ID " + id, e);
+		}
+	}
+}
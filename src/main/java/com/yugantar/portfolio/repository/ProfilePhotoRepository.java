@@ -1,8 +1,10 @@
 package com.yugantar.portfolio.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,18 +12,29 @@ import org.springframework.data.repository.query.Param;
 
 import com.yugantar.portfolio.entity.ProfilePhotoEntity;
 
-public interface ProfilePhotoRepository extends JpaRepository<ProfilePhotoEntity, Long> {
+public interface ProfilePhotoRepository extends JpaRepository<ProfilePhotoEntity, Long>, ProfilePhotoRepositoryCustom {
 
-	// Find the currently active profile photo
-	Optional<ProfilePhotoEntity> findByIsActiveTrue();
+	// First page of profile photos info without image data, latest first
+	@Query("SELECT new com.yugantar.portfolio.entity.ProfilePhotoEntity(p.id, p.fileName, p.originalFileName, p.fileFormat, p.fileSize, p.contentType, p.contentHash, p.originalContentHash, p.originalFileSize, p.originalContentType, p.uploadedDate, p.isActive, p.imageWidth, p.imageHeight, p.blurHash, p.dominantColor) FROM ProfilePhotoEntity p ORDER BY p.uploadedDate DESC, p.id DESC")
+	List<ProfilePhotoEntity> findPhotoInfoPage(Limit limit);
 
-	// Find all profile photos ordered by upload date (latest first)
-	List<ProfilePhotoEntity> findAllByOrderByUploadedDateDesc();
+	// Next page of profile photos info, starting after the given (uploadedDate, id) key
+	@Query("SELECT new com.yugantar.portfolio.entity.ProfilePhotoEntity(p.id, p.fileName, p.originalFileName, p.fileFormat, p.fileSize, p.contentType, p.contentHash, p.originalContentHash, p.originalFileSize, p.originalContentType, p.uploadedDate, p.isActive, p.imageWidth, p.imageHeight, p.blurHash, p.dominantColor) FROM ProfilePhotoEntity p WHERE p.uploadedDate < :uploadedDate OR (p.uploadedDate = :uploadedDate AND p.id < :id) ORDER BY p.uploadedDate DESC, p.id DESC")
+	List<ProfilePhotoEntity> findPhotoInfoPageAfter(@Param("uploadedDate") LocalDateTime uploadedDate, @Param("id") Long id,
+			Limit limit);
 
-	// Deactivate all profile photos (to make a new one active)
+	// Mirror the active pointer into the isActive flags of the two rows involved
 	@Modifying
-	@Query("UPDATE ProfilePhotoEntity p SET p.isActive = false")
-	void deactivateAllPhotos();
+	@Query("UPDATE ProfilePhotoEntity p SET p.isActive = CASE WHEN p.id = :activeId THEN true ELSE false END WHERE p.id = :activeId OR p.id = :previousId")
+	void updateActiveFlags(@Param("previousId") Long previousId, @Param("activeId") Long activeId);
+
+	// Check if any profile photo still references a stored blob, served or original
+	@Query("SELECT COUNT(p) > 0 FROM ProfilePhotoEntity p WHERE p.contentHash = :hash OR p.originalContentHash = :hash")
+	boolean isBlobReferenced(@Param("hash") String contentHash);
+
+	// Find the latest profile photo uploaded with identical content (uploads are de-duplicated)
+	@Query("SELECT p FROM ProfilePhotoEntity p WHERE p.contentHash = :hash OR p.originalContentHash = :hash ORDER BY p.uploadedDate DESC LIMIT 1")
+	Optional<ProfilePhotoEntity> findLatestByUploadedContentHash(@Param("hash") String contentHash);
 
 	// Check if a photo with same file name exists
 	boolean existsByOriginalFileName(String originalFileName);
@@ -30,19 +43,11 @@ public interface ProfilePhotoRepository extends JpaRepository<ProfilePhotoEntity
 	@Query("SELECT COUNT(p) FROM ProfilePhotoEntity p")
 	long countTotalPhotos();
 
-	// Get image data by ID (for serving images)
-	@Query("SELECT p.imageData FROM ProfilePhotoEntity p WHERE p.id = :id")
-	Optional<byte[]> findImageDataById(@Param("id") Long id);
-
 	// Find photo info without image data (for listing)
-	@Query("SELECT new com.yugantar.portfolio.entity.ProfilePhotoEntity(p.id, p.fileName, p.originalFileName, p.fileFormat, p.fileSize, p.contentType, null, p.uploadedDate, p.isActive, p.imageWidth, p.imageHeight) FROM ProfilePhotoEntity p WHERE p.id = :id")
+	@Query("SELECT new com.yugantar.portfolio.entity.ProfilePhotoEntity(p.id, p.fileName, p.originalFileName, p.fileFormat, p.fileSize, p.contentType, p.contentHash, p.originalContentHash, p.originalFileSize, p.originalContentType, p.uploadedDate, p.isActive, p.imageWidth, p.imageHeight, p.blurHash, p.dominantColor) FROM ProfilePhotoEntity p WHERE p.id = :id")
 	Optional<ProfilePhotoEntity> findPhotoInfoById(@Param("id") Long id);
 
-	// Get active photo image data
-	@Query("SELECT p.imageData FROM ProfilePhotoEntity p WHERE p.isActive = true")
-	Optional<byte[]> findActivePhotoImageData();
-
-	// Get active photo info without image data
-	@Query("SELECT new com.yugantar.portfolio.entity.ProfilePhotoEntity(p.id, p.fileName, p.originalFileName, p.fileFormat, p.fileSize, p.contentType, null, p.uploadedDate, p.isActive, p.imageWidth, p.imageHeight) FROM ProfilePhotoEntity p WHERE p.isActive = true")
+	// Get active photo info without image data, found through its active_asset pointer
+	@Query("SELECT new com.yugantar.portfolio.entity.ProfilePhotoEntity(p.id, p.fileName, p.originalFileName, p.fileFormat, p.fileSize, p.contentType, p.contentHash, p.originalContentHash, p.originalFileSize, p.originalContentType, p.uploadedDate, p.isActive, p.imageWidth, p.imageHeight, p.blurHash, p.dominantColor) FROM ActiveAssetEntity a JOIN ProfilePhotoEntity p ON p.id = a.assetId WHERE a.assetType = com.yugantar.portfolio.entity.AssetType.PROFILE_PHOTO")
 	Optional<ProfilePhotoEntity> findActivePhotoInfo();
 }
\ No newline at end of file
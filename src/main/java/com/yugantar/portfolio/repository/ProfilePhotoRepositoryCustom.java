@@ -0,0 +1,11 @@
+package com.yugantar.portfolio.repository;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface ProfilePhotoRepositoryCustom {
+
+	// Open the legacy LONGBLOB image data as a stream that reads it in fixed-size chunks
+	// (used by the BlobStore migration)
+	Optional<InputStream> openImageDataStream(Long id);
+}
@@ -0,0 +1,26 @@
+package com.yugantar.portfolio.repository;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ProfilePhotoRepositoryCustomImpl implements ProfilePhotoRepositoryCustom {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public Optional<InputStream> openImageDataStream(Long id) {
+		List<Long> lengths = jdbcTemplate.queryForList(
+				"SELECT OCTET_LENGTH(image_data) FROM profile_photos WHERE id = ?", Long.class, id);
+		if (lengths.isEmpty() || lengths.get(0) == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new JdbcBlobInputStream(jdbcTemplate, "profile_photos", "image_data", id,
+				lengths.get(0), JdbcBlobInputStream.DEFAULT_CHUNK_SIZE));
+	}
+}
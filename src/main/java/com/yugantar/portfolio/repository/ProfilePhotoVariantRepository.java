@@ -0,0 +1,16 @@
+package com.yugantar.portfolio.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.yugantar.portfolio.entity.ProfilePhotoVariantEntity;
+
+public interface ProfilePhotoVariantRepository extends JpaRepository<ProfilePhotoVariantEntity, Long> {
+
+	// Find all variants of a photo, smallest first
+	List<ProfilePhotoVariantEntity> findByPhotoIdOrderByWidthAsc(Long photoId);
+
+	// Check if any variant still references a stored blob
+	boolean existsByContentHash(String contentHash);
+}
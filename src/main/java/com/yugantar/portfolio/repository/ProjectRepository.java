@@ -2,11 +2,21 @@ package com.yugantar.portfolio.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.yugantar.portfolio.entity.ProjectEntity;
+import com.yugantar.portfolio.paging.KeysetRepository;
 
-public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
-	List<ProjectEntity> findAllByTitleIgnoreCase(String title);
+import jakarta.persistence.QueryHint;
+
+public interface ProjectRepository extends JpaRepository<ProjectEntity, Long>, KeysetRepository<ProjectEntity> {
 
+	// Results come from the query cache until one of the rows changes
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<ProjectEntity> findAll();
+
+	List<ProjectEntity> findAllByTitleIgnoreCase(String title);
 }
@@ -1,8 +1,10 @@
 package com.yugantar.portfolio.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,18 +12,27 @@ import org.springframework.data.repository.query.Param;
 
 import com.yugantar.portfolio.entity.ResumeEntity;
 
-public interface ResumeRepository extends JpaRepository<ResumeEntity, Long> {
+public interface ResumeRepository extends JpaRepository<ResumeEntity, Long>, ResumeRepositoryCustom {
 
-	// Find the currently active resume
-	Optional<ResumeEntity> findByIsActiveTrue();
+	// First page of resumes info without file data, latest first
+	@Query("SELECT new com.yugantar.portfolio.entity.ResumeEntity(r.id, r.fileName, r.originalFileName, r.fileFormat, r.fileSize, r.contentType, r.contentHash, r.uploadedDate, r.isActive) FROM ResumeEntity r ORDER BY r.uploadedDate DESC, r.id DESC")
+	List<ResumeEntity> findResumeInfoPage(Limit limit);
 
-	// Find all resumes ordered by upload date (latest first)
-	List<ResumeEntity> findAllByOrderByUploadedDateDesc();
+	// Next page of resumes info, starting after the given (uploadedDate, id) key
+	@Query("SELECT new com.yugantar.portfolio.entity.ResumeEntity(r.id, r.fileName, r.originalFileName, r.fileFormat, r.fileSize, r.contentType, r.contentHash, r.uploadedDate, r.isActive) FROM ResumeEntity r WHERE r.uploadedDate < :uploadedDate OR (r.uploadedDate = :uploadedDate AND r.id < :id) ORDER BY r.uploadedDate DESC, r.id DESC")
+	List<ResumeEntity> findResumeInfoPageAfter(@Param("uploadedDate") LocalDateTime uploadedDate, @Param("id") Long id,
+			Limit limit);
 
-	// Deactivate all resumes (to make a new one active)
+	// Mirror the active pointer into the isActive flags of the two rows involved
 	@Modifying
-	@Query("UPDATE ResumeEntity r SET r.isActive = false")
-	void deactivateAllResumes();
+	@Query("UPDATE ResumeEntity r SET r.isActive = CASE WHEN r.id = :activeId THEN true ELSE false END WHERE r.id = :activeId OR r.id = :previousId")
+	void updateActiveFlags(@Param("previousId") Long previousId, @Param("activeId") Long activeId);
+
+	// Check if any resume still references a stored blob
+	boolean existsByContentHash(String contentHash);
+
+	// Find the latest resume with identical content (uploads are de-duplicated)
+	Optional<ResumeEntity> findFirstByContentHashOrderByUploadedDateDesc(String contentHash);
 
 	// Check if a resume with same file name exists
 	boolean existsByOriginalFileName(String originalFileName);
@@ -30,11 +41,11 @@ public interface ResumeRepository extends JpaRepository<ResumeEntity, Long> {
 	@Query("SELECT COUNT(r) FROM ResumeEntity r")
 	long countTotalResumes();
 
-	// Get file data by ID (for downloading)
-	@Query("SELECT r.fileData FROM ResumeEntity r WHERE r.id = :id")
-	Optional<byte[]> findFileDataById(@Param("id") Long id);
-
 	// Find resume info without file data (for listing)
-	@Query("SELECT new com.yugantar.portfolio.entity.ResumeEntity(r.id, r.fileName, r.originalFileName, r.fileFormat, r.fileSize, r.contentType, null, r.uploadedDate, r.isActive) FROM ResumeEntity r WHERE r.id = :id")
+	@Query("SELECT new com.yugantar.portfolio.entity.ResumeEntity(r.id, r.fileName, r.originalFileName, r.fileFormat, r.fileSize, r.contentType, r.contentHash, r.uploadedDate, r.isActive) FROM ResumeEntity r WHERE r.id = :id")
 	Optional<ResumeEntity> findResumeInfoById(@Param("id") Long id);
+
+	// Get active resume info without file data, found through its active_asset pointer
+	@Query("SELECT new com.yugantar.portfolio.entity.ResumeEntity(r.id, r.fileName, r.originalFileName, r.fileFormat, r.fileSize, r.contentType, r.contentHash, r.uploadedDate, r.isActive) FROM ActiveAssetEntity a JOIN ResumeEntity r ON r.id = a.assetId WHERE a.assetType = com.yugantar.portfolio.entity.AssetType.RESUME")
+	Optional<ResumeEntity> findActiveResumeInfo();
 }
\ No newline at end of file
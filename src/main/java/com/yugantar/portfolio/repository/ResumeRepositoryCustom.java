@@ -0,0 +1,11 @@
+package com.yugantar.portfolio.repository;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface ResumeRepositoryCustom {
+
+	// Open the legacy LONGBLOB file data as a stream that reads it in fixed-size chunks
+	// (used by the BlobStore migration)
+	Optional<InputStream> openFileDataStream(Long id);
+}
@@ -0,0 +1,22 @@
+package com.yugantar.portfolio.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.yugantar.portfolio.entity.ResumeThumbnailEntity;
+
+public interface ResumeThumbnailRepository extends JpaRepository<ResumeThumbnailEntity, Long> {
+
+	// Find all thumbnails of a resume, smallest first per page
+	List<ResumeThumbnailEntity> findByResumeIdOrderByPageNumberAscWidthAsc(Long resumeId);
+
+	// Find the thumbnails of one page, smallest first
+	List<ResumeThumbnailEntity> findByResumeIdAndPageNumberOrderByWidthAsc(Long resumeId, int pageNumber);
+
+	// Check if a page of a resume has been rendered
+	boolean existsByResumeIdAndPageNumber(Long resumeId, int pageNumber);
+
+	// Check if any thumbnail still references a stored blob
+	boolean existsByContentHash(String contentHash);
+}
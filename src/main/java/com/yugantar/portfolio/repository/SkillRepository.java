@@ -1,11 +1,23 @@
 package com.yugantar.portfolio.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.yugantar.portfolio.entity.SkillEntity;
+import com.yugantar.portfolio.paging.KeysetRepository;
+
+import jakarta.persistence.QueryHint;
+
+public interface SkillRepository extends JpaRepository<SkillEntity, Long>, KeysetRepository<SkillEntity> {
+
+	// Results come from the query cache until one of the rows changes
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<SkillEntity> findAll();
 
-public interface SkillRepository extends JpaRepository<SkillEntity, Long> {
 	Optional<SkillEntity> findByNameIgnoreCase(String name);
 }
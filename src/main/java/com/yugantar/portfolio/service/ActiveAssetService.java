@@ -0,0 +1,34 @@
+package com.yugantar.portfolio.service;
+
+import com.yugantar.portfolio.entity.AssetType;
+
+public interface ActiveAssetService {
+
+	/**
+	 * Get the ID of the active asset of a type
+	 * 
+	 * @param assetType asset type
+	 * @return active asset ID, or null if none is active
+	 */
+	Long getActiveId(AssetType assetType);
+
+	/**
+	 * Make an asset the active one with a single compare-and-set on its pointer
+	 * row. Fails with OptimisticLockingFailureException if a concurrent
+	 * activation changed the pointer first.
+	 * 
+	 * @param assetType asset type
+	 * @param assetId   asset to activate
+	 * @return ID of the previously active asset, or null if none was active
+	 */
+	Long activate(AssetType assetType, Long assetId);
+
+	/**
+	 * Clear the pointer if it points at the given asset, e.g. when it is deleted
+	 * 
+	 * @param assetType asset type
+	 * @param assetId   asset being removed
+	 * @return true if the asset was the active one
+	 */
+	boolean clearIfActive(AssetType assetType, Long assetId);
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.yugantar.portfolio.dto.AwardRequest;
 import com.yugantar.portfolio.dto.AwardResponse;
+import com.yugantar.portfolio.paging.CursorPage;
 
 public interface AwardService {
 	AwardResponse createAward(AwardRequest request);
@@ -13,4 +14,6 @@ public interface AwardService {
 	void deleteAward(Long id);
 
 	List<AwardResponse> getAllAwards();
+
+	CursorPage<AwardResponse> getAwardsPage(int limit, String after, String orderBy, String direction);
 }
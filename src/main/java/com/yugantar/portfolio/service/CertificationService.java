@@ -1,9 +1,11 @@
 package com.yugantar.portfolio.service;
 
 import java.util.List;
+import java.util.Map;
 
 import com.yugantar.portfolio.dto.CertificationRequest;
 import com.yugantar.portfolio.dto.CertificationResponse;
+import com.yugantar.portfolio.paging.CursorPage;
 
 public interface CertificationService {
 	void createCertification(CertificationRequest request);
@@ -13,4 +15,8 @@ public interface CertificationService {
 	void deleteCertification(Long id);
 
 	List<CertificationResponse> getAllCertifications();
+
+	CursorPage<CertificationResponse> getCertificationsPage(int limit, String after, String orderBy, String direction);
+
+	List<Map<String, Object>> getCertificationFields(String fields);
 }
@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.yugantar.portfolio.dto.EducationRequest;
 import com.yugantar.portfolio.dto.EducationResponse;
+import com.yugantar.portfolio.paging.CursorPage;
 
 public interface EducationService {
 	void createEducation(EducationRequest request);
@@ -13,4 +14,6 @@ public interface EducationService {
 	void deleteEducation(Long id);
 
 	List<EducationResponse> getAllEducations();
-}
\ No newline at end of file
+
+	CursorPage<EducationResponse> getEducationsPage(int limit, String after, String orderBy, String direction);
+}
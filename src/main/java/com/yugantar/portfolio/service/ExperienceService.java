@@ -1,17 +1,25 @@
 package com.yugantar.portfolio.service;
 
 import java.util.List;
+import java.util.Map;
 
 import com.yugantar.portfolio.dto.ExperienceRequest;
 import com.yugantar.portfolio.dto.ExperienceResponse;
+import com.yugantar.portfolio.paging.CursorPage;
 
 public interface ExperienceService {
 
 	void createExperience(ExperienceRequest request);
 
+	int importExperiences(List<ExperienceRequest> requests);
+
 	void updateExperience(Long id, ExperienceRequest request);
 
 	void deleteExperience(Long id);
 
 	List<ExperienceResponse> getAllExperiences();
+
+	CursorPage<ExperienceResponse> getExperiencesPage(int limit, String after, String orderBy, String direction);
+
+	List<Map<String, Object>> getExperienceFields(String fields);
 }
@@ -0,0 +1,19 @@
+package com.yugantar.portfolio.service;
+
+import java.util.Set;
+
+import com.yugantar.portfolio.dto.PortfolioResponse;
+import com.yugantar.portfolio.dto.PortfolioSection;
+
+public interface PortfolioService {
+
+	/**
+	 * Load several sections concurrently into one response. A section with no
+	 * records is returned empty, and a section that fails is reported in the
+	 * errors map without affecting the others.
+	 * 
+	 * @param sections sections to load
+	 * @return combined response
+	 */
+	PortfolioResponse getPortfolio(Set<PortfolioSection> sections);
+}
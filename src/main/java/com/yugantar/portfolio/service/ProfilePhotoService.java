@@ -8,6 +8,8 @@ import com.yugantar.portfolio.dto.ProfilePhotoInfo;
 import com.yugantar.portfolio.dto.ProfilePhotoResponse;
 import com.yugantar.portfolio.dto.ProfilePhotoUploadResponse;
 import com.yugantar.portfolio.entity.ProfilePhotoEntity;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.upload.StagedUpload;
 
 public interface ProfilePhotoService {
 
@@ -20,7 +22,16 @@ public interface ProfilePhotoService {
 	ProfilePhotoUploadResponse uploadProfilePhoto(MultipartFile file);
 
 	/**
-	 * Get the currently active profile photo for display
+	 * Commit a profile photo received through the chunked upload API
+	 * 
+	 * @param upload fully received upload in temp storage
+	 * @return upload response with success status and photo info
+	 */
+	ProfilePhotoUploadResponse uploadProfilePhoto(StagedUpload upload);
+
+	/**
+	 * Get the currently active profile photo for display (metadata only, image
+	 * data is not loaded)
 	 * 
 	 * @return active profile photo entity or null if no active photo
 	 */
@@ -34,7 +45,8 @@ public interface ProfilePhotoService {
 	ProfilePhotoInfo getProfilePhotoInfo();
 
 	/**
-	 * Get profile photo by ID for serving
+	 * Get profile photo by ID for serving (metadata only, image data is not
+	 * loaded)
 	 * 
 	 * @param id photo ID
 	 * @return profile photo entity or null if not found
@@ -42,11 +54,14 @@ public interface ProfilePhotoService {
 	ProfilePhotoEntity getProfilePhotoById(Long id);
 
 	/**
-	 * Get all uploaded profile photos (admin view)
+	 * Get uploaded profile photos (admin view), latest first, one page at a time
 	 * 
-	 * @return list of profile photo responses without image data
+	 * @param limit page size
+	 * @param after cursor returned with the previous page, null for the first
+	 *              page
+	 * @return page of photo responses without image data
 	 */
-	List<ProfilePhotoResponse> getAllProfilePhotos();
+	CursorPage<ProfilePhotoResponse> getAllProfilePhotos(int limit, String after);
 
 	/**
 	 * Set a specific profile photo as active
@@ -73,17 +88,12 @@ public interface ProfilePhotoService {
 	String validateProfilePhoto(MultipartFile file);
 
 	/**
-	 * Get image data for serving
+	 * Validate file name, content type and size before any content is received
 	 * 
-	 * @param id photo ID
-	 * @return image data as byte array
-	 */
-	byte[] getImageData(Long id);
-
-	/**
-	 * Get active profile photo image data
-	 * 
-	 * @return active photo image data as byte array
+	 * @param originalFileName client file name
+	 * @param contentType      client content type
+	 * @param fileSize         size in bytes
+	 * @return validation result message (null if valid)
 	 */
-	byte[] getActiveProfilePhotoImageData();
+	String validateProfilePhoto(String originalFileName, String contentType, long fileSize);
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.yugantar.portfolio.service;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+
+import com.yugantar.portfolio.entity.ProfilePhotoEntity;
+import com.yugantar.portfolio.entity.ProfilePhotoVariantEntity;
+
+public interface ProfilePhotoVariantService {
+
+	/**
+	 * Generate and store the downscaled variants of a newly uploaded photo, each
+	 * in every encoding offered for negotiation, plus full-size encodings that
+	 * are smaller than the original
+	 * 
+	 * @param photoId      photo ID
+	 * @param image        decoded original image
+	 * @param contentType  content type of the original
+	 * @param originalSize size of the original in bytes
+	 * @return stored variants, smallest first
+	 */
+	List<ProfilePhotoVariantEntity> createVariants(Long photoId, BufferedImage image, String contentType,
+			long originalSize);
+
+	/**
+	 * Pick the representation to serve: the smallest width at least as wide as
+	 * the target, then the smallest encoding at that width the client accepts.
+	 * Only variants stored at upload time are considered.
+	 * 
+	 * @param photo       original photo
+	 * @param targetWidth wanted width in device pixels, or null for full size
+	 * @param accepted    media ranges from the Accept header, empty for any
+	 * @return variant, or null if the original should be served
+	 */
+	ProfilePhotoVariantEntity selectVariant(ProfilePhotoEntity photo, Integer targetWidth, List<MediaType> accepted);
+
+	/**
+	 * Get all variants of a photo, smallest first
+	 * 
+	 * @param photoId photo ID
+	 * @return variants
+	 */
+	List<ProfilePhotoVariantEntity> getVariants(Long photoId);
+
+	/**
+	 * Delete all variants of a photo; stored images are removed after commit
+	 * 
+	 * @param photoId photo ID
+	 */
+	void deleteVariants(Long photoId);
+}
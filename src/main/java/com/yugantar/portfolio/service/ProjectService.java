@@ -1,9 +1,11 @@
 package com.yugantar.portfolio.service;
 
 import java.util.List;
+import java.util.Map;
 
 import com.yugantar.portfolio.dto.ProjectRequest;
 import com.yugantar.portfolio.dto.ProjectResponse;
+import com.yugantar.portfolio.paging.CursorPage;
 
 public interface ProjectService {
 	List<ProjectResponse> getAllProjects();
@@ -13,4 +15,8 @@ public interface ProjectService {
 	void updateProject(Long id, ProjectRequest request);
 
 	void deleteProject(Long id);
+
+	CursorPage<ProjectResponse> getProjectsPage(int limit, String after, String orderBy, String direction);
+
+	List<Map<String, Object>> getProjectFields(String fields);
 }
@@ -8,6 +8,8 @@ import com.yugantar.portfolio.dto.ResumeDownloadInfo;
 import com.yugantar.portfolio.dto.ResumeResponse;
 import com.yugantar.portfolio.dto.ResumeUploadResponse;
 import com.yugantar.portfolio.entity.ResumeEntity;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.upload.StagedUpload;
 
 public interface ResumeService {
 
@@ -20,7 +22,16 @@ public interface ResumeService {
 	ResumeUploadResponse uploadResume(MultipartFile file);
 
 	/**
-	 * Get the currently active resume for download
+	 * Commit a resume received through the chunked upload API
+	 * 
+	 * @param upload fully received upload in temp storage
+	 * @return upload response with success status and resume info
+	 */
+	ResumeUploadResponse uploadResume(StagedUpload upload);
+
+	/**
+	 * Get the currently active resume for download (metadata only, file data is
+	 * not loaded)
 	 * 
 	 * @return active resume entity or null if no active resume
 	 */
@@ -34,7 +45,8 @@ public interface ResumeService {
 	ResumeDownloadInfo getResumeDownloadInfo();
 
 	/**
-	 * Get resume by ID for preview/download
+	 * Get resume by ID for preview/download (metadata only, file data is not
+	 * loaded)
 	 * 
 	 * @param id resume ID
 	 * @return resume entity or null if not found
@@ -42,11 +54,14 @@ public interface ResumeService {
 	ResumeEntity getResumeById(Long id);
 
 	/**
-	 * Get all uploaded resumes (admin view)
+	 * Get uploaded resumes (admin view), latest first, one page at a time
 	 * 
-	 * @return list of resume responses without file data
+	 * @param limit page size
+	 * @param after cursor returned with the previous page, null for the first
+	 *              page
+	 * @return page of resume responses without file data
 	 */
-	List<ResumeResponse> getAllResumes();
+	CursorPage<ResumeResponse> getAllResumes(int limit, String after);
 
 	/**
 	 * Set a specific resume as active
@@ -71,4 +86,14 @@ public interface ResumeService {
 	 * @return validation result message (null if valid)
 	 */
 	String validateResumeFile(MultipartFile file);
+
+	/**
+	 * Validate file name, content type and size before any content is received
+	 * 
+	 * @param originalFileName client file name
+	 * @param contentType      client content type
+	 * @param fileSize         size in bytes
+	 * @return validation result message (null if valid)
+	 */
+	String validateResumeFile(String originalFileName, String contentType, long fileSize);
 }
\ No newline at end of file
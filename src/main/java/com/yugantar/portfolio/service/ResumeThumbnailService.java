@@ -0,0 +1,47 @@
+package com.yugantar.portfolio.service;
+
+import com.yugantar.portfolio.entity.ResumeThumbnailEntity;
+
+public interface ResumeThumbnailService {
+
+	/**
+	 * Queue thumbnail rendering for a resume once the current transaction
+	 * commits. Never blocks the caller on rasterization.
+	 * 
+	 * @param resumeId resume ID
+	 */
+	void scheduleRendering(Long resumeId);
+
+	/**
+	 * Render and store the thumbnails of a resume, replacing existing ones
+	 * 
+	 * @param resumeId resume ID
+	 */
+	void renderThumbnails(Long resumeId);
+
+	/**
+	 * Get the smallest thumbnail of a page that is at least the requested width,
+	 * or the largest one if none is wide enough
+	 * 
+	 * @param resumeId   resume ID
+	 * @param pageNumber 1-based page number
+	 * @param width      requested width in pixels, null for the smallest
+	 * @return thumbnail or null if none has been rendered
+	 */
+	ResumeThumbnailEntity getThumbnail(Long resumeId, int pageNumber, Integer width);
+
+	/**
+	 * Check whether a page of a resume has been rendered
+	 * 
+	 * @param resumeId   resume ID
+	 * @param pageNumber 1-based page number
+	 */
+	boolean hasThumbnail(Long resumeId, int pageNumber);
+
+	/**
+	 * Delete all thumbnails of a resume; stored images are removed after commit
+	 * 
+	 * @param resumeId resume ID
+	 */
+	void deleteThumbnails(Long resumeId);
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.yugantar.portfolio.dto.SkillRequest;
 import com.yugantar.portfolio.dto.SkillResponse;
+import com.yugantar.portfolio.paging.CursorPage;
 
 public interface SkillService {
 	SkillResponse createSkill(SkillRequest request);
@@ -13,4 +14,6 @@ public interface SkillService {
 	void deleteSkill(Long id);
 
 	List<SkillResponse> getAllSkills();
+
+	CursorPage<SkillResponse> getSkillsPage(int limit, String after, String orderBy, String direction);
 }
@@ -0,0 +1,32 @@
+package com.yugantar.portfolio.service;
+
+import java.util.function.Function;
+
+import com.yugantar.portfolio.dto.UploadJobStatus;
+import com.yugantar.portfolio.upload.StagedUpload;
+import com.yugantar.portfolio.upload.UploadOutcome;
+
+public interface UploadJobService {
+
+	/**
+	 * Queue a staged upload for background processing. The staged file is
+	 * discarded once the job has run.
+	 * 
+	 * @param purpose   what the upload is for, checked again when polling
+	 * @param upload    upload spooled to temp storage
+	 * @param processor validates and stores the upload
+	 * @return initial job status
+	 * @throws org.springframework.core.task.TaskRejectedException if the queue
+	 *                                                             is full
+	 */
+	UploadJobStatus submit(String purpose, StagedUpload upload, Function<StagedUpload, UploadOutcome> processor);
+
+	/**
+	 * Get the status of a job
+	 * 
+	 * @param purpose what the upload is for
+	 * @param jobId   job ID
+	 * @return job status
+	 */
+	UploadJobStatus getStatus(String purpose, String jobId);
+}
@@ -0,0 +1,95 @@
+package com.yugantar.portfolio.serviceimpl;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.yugantar.portfolio.entity.ActiveAssetEntity;
+import com.yugantar.portfolio.entity.AssetType;
+import com.yugantar.portfolio.repository.ActiveAssetRepository;
+import com.yugantar.portfolio.service.ActiveAssetService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the active_asset pointer rows. On startup a missing pointer is created
+ * from the is_active flags written by earlier versions, so existing data keeps
+ * its active resume and photo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveAssetServiceImpl implements ActiveAssetService, SmartInitializingSingleton {
+
+	private final ActiveAssetRepository activeAssetRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	@Override
+	public Long getActiveId(AssetType assetType) {
+		return activeAssetRepository.findPointer(assetType).map(ActiveAssetEntity::getAssetId).orElse(null);
+	}
+
+	@Override
+	@Transactional
+	public Long activate(AssetType assetType, Long assetId) {
+		ActiveAssetEntity pointer = activeAssetRepository.findPointer(assetType)
+				.orElseThrow(() -> new IllegalStateException("No active asset pointer for " + assetType));
+		Long previousId = pointer.getAssetId();
+		if (Objects.equals(previousId, assetId)) {
+			return previousId;
+		}
+
+		if (activeAssetRepository.compareAndSet(assetType, pointer.getVersion(), assetId) == 0) {
+			throw new OptimisticLockingFailureException(
+					"Active " + assetType + " was changed concurrently, please retry");
+		}
+		log.info("Active {} changed from {} to {}", assetType, previousId, assetId);
+		return previousId;
+	}
+
+	@Override
+	@Transactional
+	public boolean clearIfActive(AssetType assetType, Long assetId) {
+		return activeAssetRepository.clearIfActive(assetType, assetId) > 0;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		for (AssetType assetType : AssetType.values()) {
+			try {
+				transactionTemplate.executeWithoutResult(status -> createPointer(assetType));
+			} catch (DataIntegrityViolationException e) {
+				log.debug("Active {} pointer was created concurrently", assetType);
+			}
+		}
+	}
+
+	private void createPointer(AssetType assetType) {
+		if (activeAssetRepository.existsById(assetType)) {
+			return;
+		}
+
+		String table = assetType.getTableName();
+		List<Long> active = jdbcTemplate.queryForList(
+				"SELECT id FROM " + table + " WHERE is_active = 1 ORDER BY uploaded_date DESC, id DESC LIMIT 1",
+				Long.class);
+		Long activeId = active.isEmpty() ? null : active.get(0);
+
+		// One-off cleanup: older versions could leave several rows flagged active
+		if (activeId != null) {
+			jdbcTemplate.update("UPDATE " + table + " SET is_active = 0 WHERE is_active = 1 AND id <> ?", activeId);
+		}
+		activeAssetRepository.saveAndFlush(
+				ActiveAssetEntity.builder().assetType(assetType).assetId(activeId).version(0).build());
+		log.info("Created active {} pointer, active ID: {}", assetType, activeId);
+	}
+}
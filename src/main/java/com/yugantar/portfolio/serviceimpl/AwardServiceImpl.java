@@ -5,12 +5,18 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.config.CacheConfig;
 import com.yugantar.portfolio.dto.AwardRequest;
 import com.yugantar.portfolio.dto.AwardResponse;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.entity.AwardEntity;
 import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.KeysetOrder;
 import com.yugantar.portfolio.repository.AwardRepository;
 import com.yugantar.portfolio.service.AwardService;
 
@@ -23,13 +29,23 @@ public class AwardServiceImpl implements AwardService {
 	@Autowired
 	private AwardRepository awardRepo;
 
+	@Autowired
+	private ResponseSnapshotCache responseSnapshotCache;
+
+	// Orders accepted by getAwardsPage, each backed by a (column, id) index
+	private static final KeysetOrder<AwardEntity> ORDERS = KeysetOrder.byId(AwardEntity::getId)
+			.and("awardName", AwardEntity::getAwardName, value -> value)
+			.and("awardCompanyName", AwardEntity::getAwardCompanyName, value -> value);
+
 	@Override
 	public AwardResponse createAward(AwardRequest request) {
 		log.info("Creating new award: {}", request.getAwardName());
 		AwardEntity entity = AwardEntity.builder().awardName(request.getAwardName())
 				.description(request.getDescription()).awardCompanyName(request.getAwardCompanyName())
 				.awardLink(request.getAwardLink()).awardYear(request.getAwardYear()).build();
-		return mapToResponse(awardRepo.save(entity));
+		AwardEntity saved = awardRepo.save(entity);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.AWARDS);
+		return mapToResponse(saved);
 	}
 
 	@Override
@@ -55,7 +71,9 @@ public class AwardServiceImpl implements AwardService {
 		existing.setAwardLink(request.getAwardLink());
 		existing.setAwardYear(request.getAwardYear());
 
-		return mapToResponse(awardRepo.save(existing));
+		AwardEntity saved = awardRepo.save(existing);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.AWARDS);
+		return mapToResponse(saved);
 	}
 
 	@Override
@@ -64,9 +82,11 @@ public class AwardServiceImpl implements AwardService {
 		AwardEntity entity = awardRepo.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Award not found with id: " + id));
 		awardRepo.delete(entity);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.AWARDS);
 	}
 
 	@Override
+	@Cacheable(cacheNames = CacheConfig.AWARDS, sync = true)
 	public List<AwardResponse> getAllAwards() {
 		log.info("Fetching all awards");
 		List<AwardEntity> list = awardRepo.findAll();
@@ -76,6 +96,11 @@ public class AwardServiceImpl implements AwardService {
 		return list.stream().map(this::mapToResponse).collect(Collectors.toList());
 	}
 
+	@Override
+	public CursorPage<AwardResponse> getAwardsPage(int limit, String after, String orderBy, String direction) {
+		return ORDERS.page(awardRepo, orderBy, direction, limit, after, this::mapToResponse);
+	}
+
 	private AwardResponse mapToResponse(AwardEntity entity) {
 		return AwardResponse.builder().id(entity.getId()).awardName(entity.getAwardName())
 				.description(entity.getDescription()).awardCompanyName(entity.getAwardCompanyName())
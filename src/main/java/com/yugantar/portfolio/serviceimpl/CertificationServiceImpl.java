@@ -1,18 +1,28 @@
 package com.yugantar.portfolio.serviceimpl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.config.CacheConfig;
 import com.yugantar.portfolio.dto.CertificationRequest;
 import com.yugantar.portfolio.dto.CertificationResponse;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.entity.CertificationEntity;
 import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.KeysetOrder;
+import com.yugantar.portfolio.projection.SparseFields;
 import com.yugantar.portfolio.repository.CertificationRepository;
 import com.yugantar.portfolio.service.CertificationService;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -22,6 +32,23 @@ public class CertificationServiceImpl implements CertificationService {
 	@Autowired
 	private CertificationRepository certificationRepo;
 
+	@Autowired
+	private ResponseSnapshotCache responseSnapshotCache;
+
+	// Orders accepted by getCertificationsPage, each backed by a (column, id) index
+	private static final KeysetOrder<CertificationEntity> ORDERS = KeysetOrder.byId(CertificationEntity::getId)
+			.and("title", CertificationEntity::getTitle, value -> value);
+
+	// Properties /api/certifications?fields= may select
+	private static final SparseFields<CertificationEntity> FIELDS = SparseFields.of(CertificationEntity.class)
+			.column("title")
+			.column("description")
+			.column("monthYear")
+			.column("certificationLink");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Override
 	public void createCertification(CertificationRequest request) {
 		CertificationEntity entity = CertificationEntity.builder().title(request.getTitle())
@@ -29,6 +56,7 @@ public class CertificationServiceImpl implements CertificationService {
 				.certificationLink(request.getCertificationLink()).build();
 
 		certificationRepo.save(entity);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.CERTIFICATIONS);
 		log.info("Created certification: {}", request.getTitle());
 	}
 
@@ -50,6 +78,7 @@ public class CertificationServiceImpl implements CertificationService {
 		cert.setCertificationLink(request.getCertificationLink());
 
 		certificationRepo.save(cert);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.CERTIFICATIONS);
 		log.info("Updated certification ID: {}", id);
 	}
 
@@ -58,19 +87,37 @@ public class CertificationServiceImpl implements CertificationService {
 		CertificationEntity cert = certificationRepo.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Certification not found with ID: " + id));
 		certificationRepo.delete(cert);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.CERTIFICATIONS);
 		log.info("Deleted certification ID: {}", id);
 	}
 
 	@Override
+	@Cacheable(cacheNames = CacheConfig.CERTIFICATIONS, sync = true)
 	public List<CertificationResponse> getAllCertifications() {
 		List<CertificationEntity> list = certificationRepo.findAll();
 		if (list.isEmpty()) {
 			throw new ResourceNotFoundException("No certifications available to fetch.");
 		}
-		return list.stream()
-				.map(cert -> CertificationResponse.builder().id(cert.getId()).title(cert.getTitle())
-						.description(cert.getDescription()).monthYear(cert.getMonthYear())
-						.certificationLink(cert.getCertificationLink()).build())
-				.collect(Collectors.toList());
+		return list.stream().map(this::mapToResponse).collect(Collectors.toList());
+	}
+
+	@Override
+	public CursorPage<CertificationResponse> getCertificationsPage(int limit, String after, String orderBy, String direction) {
+		return ORDERS.page(certificationRepo, orderBy, direction, limit, after, this::mapToResponse);
+	}
+
+	@Override
+	public List<Map<String, Object>> getCertificationFields(String fields) {
+		List<Map<String, Object>> certifications = FIELDS.select(entityManager, fields);
+		if (certifications.isEmpty()) {
+			throw new ResourceNotFoundException("No certifications available to fetch.");
+		}
+		return certifications;
+	}
+
+	private CertificationResponse mapToResponse(CertificationEntity cert) {
+		return CertificationResponse.builder().id(cert.getId()).title(cert.getTitle())
+				.description(cert.getDescription()).monthYear(cert.getMonthYear())
+				.certificationLink(cert.getCertificationLink()).build();
 	}
 }
@@ -4,12 +4,18 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.config.CacheConfig;
 import com.yugantar.portfolio.dto.EducationRequest;
 import com.yugantar.portfolio.dto.EducationResponse;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.entity.EducationEntity;
 import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.KeysetOrder;
 import com.yugantar.portfolio.repository.EducationRepository;
 import com.yugantar.portfolio.service.EducationService;
 
@@ -22,6 +28,12 @@ import lombok.extern.slf4j.Slf4j;
 public class EducationServiceImpl implements EducationService {
 
 	private final EducationRepository educationRepository;
+	private final ResponseSnapshotCache responseSnapshotCache;
+
+	// Orders accepted by getEducationsPage, each backed by a (column, id) index.
+	// startDate is free text, so it does not sort chronologically and is left out
+	private static final KeysetOrder<EducationEntity> ORDERS = KeysetOrder.byId(EducationEntity::getId)
+			.and("university", EducationEntity::getUniversity, value -> value);
 
 	@Override
 	public void createEducation(EducationRequest request) {
@@ -35,6 +47,7 @@ public class EducationServiceImpl implements EducationService {
 
 		EducationEntity education = mapToEntity(request);
 		educationRepository.save(education);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.EDUCATIONS);
 		log.info("Education entry created for: {}", request.getDegree());
 	}
 
@@ -64,6 +77,7 @@ public class EducationServiceImpl implements EducationService {
 		}
 
 		educationRepository.save(updated);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.EDUCATIONS);
 		log.info("Updated education record with ID: {}", id);
 	}
 
@@ -73,23 +87,31 @@ public class EducationServiceImpl implements EducationService {
 			throw new ResourceNotFoundException("Education not found with ID: " + id);
 		}
 		educationRepository.deleteById(id);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.EDUCATIONS);
 		log.info("Deleted education with ID: {}", id);
 	}
 
 	@Override
+	@Cacheable(cacheNames = CacheConfig.EDUCATIONS, sync = true)
 	public List<EducationResponse> getAllEducations() {
 		List<EducationEntity> all = educationRepository.findAll();
 		if (all.isEmpty()) {
 			throw new ResourceNotFoundException("No education records found.");
 		}
 
-		return all.stream()
-				.map(e -> EducationResponse.builder().id(e.getId()).degree(e.getDegree()).field(e.getField())
-						.university(e.getUniversity()).institute(e.getInstitute()).location(e.getLocation())
-						.startDate(e.getStartDate()).endDate(e.getEndDate()).currentStudying(e.isCurrentStudying())
-						.grade(e.getGrade()).educationType(e.getEducationType()).description(e.getDescription())
-						.build())
-				.collect(Collectors.toList());
+		return all.stream().map(this::mapToResponse).collect(Collectors.toList());
+	}
+
+	@Override
+	public CursorPage<EducationResponse> getEducationsPage(int limit, String after, String orderBy, String direction) {
+		return ORDERS.page(educationRepository, orderBy, direction, limit, after, this::mapToResponse);
+	}
+
+	private EducationResponse mapToResponse(EducationEntity e) {
+		return EducationResponse.builder().id(e.getId()).degree(e.getDegree()).field(e.getField())
+				.university(e.getUniversity()).institute(e.getInstitute()).location(e.getLocation())
+				.startDate(e.getStartDate()).endDate(e.getEndDate()).currentStudying(e.isCurrentStudying())
+				.grade(e.getGrade()).educationType(e.getEducationType()).description(e.getDescription()).build();
 	}
 
 	private void validate(EducationRequest req) {
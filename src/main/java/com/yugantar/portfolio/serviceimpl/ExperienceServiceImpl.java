@@ -1,21 +1,33 @@
 package com.yugantar.portfolio.serviceimpl;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.config.CacheConfig;
 import com.yugantar.portfolio.dto.ExperienceRequest;
 import com.yugantar.portfolio.dto.ExperienceResponse;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.entity.ExperienceEntity;
 import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.KeysetOrder;
+import com.yugantar.portfolio.projection.SparseFields;
 import com.yugantar.portfolio.repository.ExperienceRepository;
 import com.yugantar.portfolio.service.ExperienceService;
+import com.yugantar.portfolio.validation.DateRangeIndex;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +38,25 @@ import lombok.extern.slf4j.Slf4j;
 public class ExperienceServiceImpl implements ExperienceService {
 
 	private final ExperienceRepository experienceRepository;
+	private final ResponseSnapshotCache responseSnapshotCache;
+
+	// Orders accepted by getExperiencesPage, each backed by a (column, id) index
+	private static final KeysetOrder<ExperienceEntity> ORDERS = KeysetOrder.byId(ExperienceEntity::getId)
+			.and("startDate", ExperienceEntity::getStartDate, LocalDate::parse)
+			.and("companyName", ExperienceEntity::getCompanyName, value -> value);
+
+	// Properties /api/experiences?fields= may select
+	private static final SparseFields<ExperienceEntity> FIELDS = SparseFields.of(ExperienceEntity.class)
+			.column("companyName")
+			.column("role")
+			.column("startDate")
+			.column("endDate")
+			.column("current")
+			.column("description")
+			.collection("skills");
+
+	@PersistenceContext
+	private EntityManager entityManager;
 
 	@Override
 	public void createExperience(ExperienceRequest request) {
@@ -34,24 +65,54 @@ public class ExperienceServiceImpl implements ExperienceService {
 		LocalDate start = request.getStartDate();
 		LocalDate end = request.isCurrent() ? LocalDate.now() : request.getEndDate();
 
-		List<ExperienceEntity> all = experienceRepository.findAll();
-		for (ExperienceEntity exp : all) {
-			LocalDate existingStart = exp.getStartDate();
-			LocalDate existingEnd = exp.isCurrent() ? LocalDate.now() : exp.getEndDate();
+		List<ExperienceEntity> overlapping = experienceRepository.findOverlappingExperiences(start, end, null);
+		if (!overlapping.isEmpty()) {
+			log.warn("Rejected experience creation due to overlap with ID: {}", overlapping.get(0).getId());
+			throw new IllegalArgumentException("Experience period overlaps with an existing record.");
+		}
+
+		experienceRepository.save(toEntity(request));
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.EXPERIENCES);
+		log.info("Experience created successfully for company: {}", request.getCompanyName());
+	}
+
+	@Override
+	@Transactional
+	public int importExperiences(List<ExperienceRequest> requests) {
+		LocalDate today = LocalDate.now();
+
+		// Each new period is checked against the stored ones and those before it
+		// in the batch with a single tree lookup; stored rows may overlap each other
+		DateRangeIndex<String> periods = new DateRangeIndex<>();
+		for (ExperienceRepository.Period period : experienceRepository.findAllByOrderByStartDateAsc()) {
+			LocalDate end = period.isCurrent() || period.getEndDate() == null ? today : period.getEndDate();
+			periods.add(period.getStartDate(), end, "experience ID " + period.getId());
+		}
 
-			boolean overlaps = !(end.isBefore(existingStart) || start.isAfter(existingEnd));
-			if (overlaps) {
-				log.warn("Rejected experience creation due to overlapping with: {}", exp);
-				throw new IllegalArgumentException("Experience period overlaps with an existing record.");
+		List<ExperienceEntity> experiences = new ArrayList<>(requests.size());
+		for (ExperienceRequest request : requests) {
+			validateDates(request.getStartDate(), request.getEndDate(), request.isCurrent());
+			LocalDate end = request.isCurrent() ? today : request.getEndDate();
+			String overlap = periods.addIfDisjoint(request.getStartDate(), end,
+					"imported experience at " + request.getCompanyName());
+			if (overlap != null) {
+				log.warn("Rejected experience import: {} overlaps with {}", request.getCompanyName(), overlap);
+				throw new IllegalArgumentException(
+						"Experience period at " + request.getCompanyName() + " overlaps with " + overlap + ".");
 			}
+			experiences.add(toEntity(request));
 		}
 
-		ExperienceEntity experience = ExperienceEntity.builder().companyName(request.getCompanyName())
-				.role(request.getRole()).startDate(start).endDate(request.isCurrent() ? null : end)
-				.current(request.isCurrent()).description(request.getDescription()).skills(request.getSkills()).build();
+		experienceRepository.saveAll(experiences);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.EXPERIENCES);
+		log.info("Imported {} experiences", experiences.size());
+		return experiences.size();
+	}
 
-		experienceRepository.save(experience);
-		log.info("Experience created successfully for company: {}", request.getCompanyName());
+	private ExperienceEntity toEntity(ExperienceRequest request) {
+		return ExperienceEntity.builder().companyName(request.getCompanyName()).role(request.getRole())
+				.startDate(request.getStartDate()).endDate(request.isCurrent() ? null : request.getEndDate())
+				.current(request.isCurrent()).description(request.getDescription()).skills(request.getSkills()).build();
 	}
 
 	@Override
@@ -70,18 +131,10 @@ public class ExperienceServiceImpl implements ExperienceService {
 		LocalDate newStart = request.getStartDate();
 		LocalDate newEnd = request.isCurrent() ? LocalDate.now() : request.getEndDate();
 
-		List<ExperienceEntity> all = experienceRepository.findAll().stream().filter(e -> !e.getId().equals(id))
-				.collect(Collectors.toList());
-
-		for (ExperienceEntity exp : all) {
-			LocalDate existingStart = exp.getStartDate();
-			LocalDate existingEnd = exp.isCurrent() ? LocalDate.now() : exp.getEndDate();
-
-			boolean overlaps = !(newEnd.isBefore(existingStart) || newStart.isAfter(existingEnd));
-			if (overlaps) {
-				log.warn("Rejected experience update due to overlap with ID: {}", exp.getId());
-				throw new IllegalArgumentException("Experience period overlaps with another record.");
-			}
+		List<ExperienceEntity> overlapping = experienceRepository.findOverlappingExperiences(newStart, newEnd, id);
+		if (!overlapping.isEmpty()) {
+			log.warn("Rejected experience update due to overlap with ID: {}", overlapping.get(0).getId());
+			throw new IllegalArgumentException("Experience period overlaps with another record.");
 		}
 
 		existing.setCompanyName(request.getCompanyName());
@@ -93,6 +146,7 @@ public class ExperienceServiceImpl implements ExperienceService {
 		existing.setSkills(request.getSkills());
 
 		experienceRepository.save(existing);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.EXPERIENCES);
 		log.info("Updated experience for company: {}", request.getCompanyName());
 	}
 
@@ -125,21 +179,40 @@ public class ExperienceServiceImpl implements ExperienceService {
 			throw new ResourceNotFoundException("Experience not found with ID: " + id);
 		}
 		experienceRepository.deleteById(id);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.EXPERIENCES);
 		log.info("Deleted experience with ID: {}", id);
 	}
 
 	@Override
+	@Cacheable(cacheNames = CacheConfig.EXPERIENCES, sync = true)
 	public List<ExperienceResponse> getAllExperiences() {
 		List<ExperienceEntity> experiences = experienceRepository.findAll();
 		if (experiences.isEmpty()) {
 			throw new ResourceNotFoundException("No experience records found.");
 		}
 
-		return experiences.stream()
-				.map(e -> ExperienceResponse.builder().id(e.getId()).companyName(e.getCompanyName()).role(e.getRole())
-						.startDate(e.getStartDate()).endDate(e.getEndDate()).current(e.isCurrent())
-						.description(e.getDescription()).skills(e.getSkills()).build())
-				.collect(Collectors.toList());
+		return experiences.stream().map(this::mapToResponse).collect(Collectors.toList());
+	}
+
+	@Override
+	public CursorPage<ExperienceResponse> getExperiencesPage(int limit, String after, String orderBy, String direction) {
+		return ORDERS.page(experienceRepository, orderBy, direction, limit, after, this::mapToResponse);
+	}
+
+	@Override
+	public List<Map<String, Object>> getExperienceFields(String fields) {
+		List<Map<String, Object>> experiences = FIELDS.select(entityManager, fields);
+		if (experiences.isEmpty()) {
+			throw new ResourceNotFoundException("No experience records found.");
+		}
+		return experiences;
+	}
+
+	private ExperienceResponse mapToResponse(ExperienceEntity e) {
+		return ExperienceResponse.builder().id(e.getId()).companyName(e.getCompanyName()).role(e.getRole())
+				.startDate(e.getStartDate()).endDate(e.getEndDate()).current(e.isCurrent())
+				.description(e.getDescription())
+				.skills(e.getSkills() != null ? new ArrayList<>(e.getSkills()) : null).build();
 	}
 
 	private void validateDates(LocalDate startDate, LocalDate endDate, boolean isCurrent) {
@@ -0,0 +1,164 @@
+package com.yugantar.portfolio.serviceimpl;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import com.yugantar.portfolio.dto.AwardResponse;
+import com.yugantar.portfolio.dto.CertificationResponse;
+import com.yugantar.portfolio.dto.EducationResponse;
+import com.yugantar.portfolio.dto.ExperienceResponse;
+import com.yugantar.portfolio.dto.PortfolioResponse;
+import com.yugantar.portfolio.dto.PortfolioSection;
+import com.yugantar.portfolio.dto.ProfilePhotoInfo;
+import com.yugantar.portfolio.dto.ProjectResponse;
+import com.yugantar.portfolio.dto.ResumeDownloadInfo;
+import com.yugantar.portfolio.dto.SkillResponse;
+import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.service.AwardService;
+import com.yugantar.portfolio.service.CertificationService;
+import com.yugantar.portfolio.service.EducationService;
+import com.yugantar.portfolio.service.ExperienceService;
+import com.yugantar.portfolio.service.PortfolioService;
+import com.yugantar.portfolio.service.ProfilePhotoService;
+import com.yugantar.portfolio.service.ProjectService;
+import com.yugantar.portfolio.service.ResumeService;
+import com.yugantar.portfolio.service.SkillService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans section loads out to the bounded sectionExecutor, each through its
+ * existing service and in its own transaction, then waits for all of them up
+ * to a shared deadline. When the executor is saturated a section is loaded on
+ * the calling thread instead, so the response is slower rather than failed.
+ * Loads are plain FutureTasks, so cancelling one that timed out interrupts
+ * the thread still running it.
+ */
+@Service
+@Slf4j
+public class PortfolioServiceImpl implements PortfolioService {
+
+	private final SkillService skillService;
+	private final ProjectService projectService;
+	private final ExperienceService experienceService;
+	private final EducationService educationService;
+	private final AwardService awardService;
+	private final CertificationService certificationService;
+	private final ProfilePhotoService profilePhotoService;
+	private final ResumeService resumeService;
+	private final TaskExecutor sectionExecutor;
+	private final Duration timeout;
+
+	public PortfolioServiceImpl(SkillService skillService, ProjectService projectService,
+			ExperienceService experienceService, EducationService educationService, AwardService awardService,
+			CertificationService certificationService, ProfilePhotoService profilePhotoService,
+			ResumeService resumeService, TaskExecutor sectionExecutor,
+			@Value("${portfolio.sections.timeout:5s}") Duration timeout) {
+		this.skillService = skillService;
+		this.projectService = projectService;
+		this.experienceService = experienceService;
+		this.educationService = educationService;
+		this.awardService = awardService;
+		this.certificationService = certificationService;
+		this.profilePhotoService = profilePhotoService;
+		this.resumeService = resumeService;
+		this.sectionExecutor = sectionExecutor;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public PortfolioResponse getPortfolio(Set<PortfolioSection> sections) {
+		Map<PortfolioSection, Future<Object>> loads = new EnumMap<>(PortfolioSection.class);
+		for (PortfolioSection section : sections) {
+			loads.put(section, submit(section));
+		}
+
+		long deadline = System.nanoTime() + timeout.toNanos();
+		PortfolioResponse response = new PortfolioResponse();
+		Map<String, String> errors = new LinkedHashMap<>();
+		loads.forEach((section, load) -> {
+			try {
+				set(response, section, load.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+			} catch (TimeoutException e) {
+				load.cancel(true);
+				log.warn("Portfolio section {} timed out after {}", section.getKey(), timeout);
+				errors.put(section.getKey(), "Timed out loading " + section.getKey());
+			} catch (ExecutionException e) {
+				log.error("Failed to load portfolio section {}", section.getKey(), e.getCause());
+				errors.put(section.getKey(), "Failed to load " + section.getKey());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				errors.put(section.getKey(), "Interrupted loading " + section.getKey());
+			}
+		});
+		if (!errors.isEmpty()) {
+			response.setErrors(errors);
+		}
+		return response;
+	}
+
+	private Future<Object> submit(PortfolioSection section) {
+		FutureTask<Object> task = new FutureTask<>(() -> load(section));
+		try {
+			sectionExecutor.execute(task);
+		} catch (TaskRejectedException e) {
+			log.debug("Section executor is full, loading {} on the request thread", section.getKey());
+			task.run();
+		}
+		return task;
+	}
+
+	private Object load(PortfolioSection section) {
+		return switch (section) {
+		case SKILLS -> emptyIfNone(skillService::getAllSkills);
+		case PROJECTS -> emptyIfNone(projectService::getAllProjects);
+		case EXPERIENCES -> emptyIfNone(experienceService::getAllExperiences);
+		case EDUCATIONS -> emptyIfNone(educationService::getAllEducations);
+		case AWARDS -> emptyIfNone(awardService::getAllAwards);
+		case CERTIFICATIONS -> emptyIfNone(certificationService::getAllCertifications);
+		case PROFILE_PHOTO -> profilePhotoService.getProfilePhotoInfo();
+		case RESUME -> resumeService.getResumeDownloadInfo();
+		};
+	}
+
+	/**
+	 * The list endpoints answer 404 when a section has no records; here that is
+	 * just an empty section
+	 */
+	private static <T> List<T> emptyIfNone(Supplier<List<T>> loader) {
+		try {
+			return loader.get();
+		} catch (ResourceNotFoundException e) {
+			return List.of();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void set(PortfolioResponse response, PortfolioSection section, Object value) {
+		switch (section) {
+		case SKILLS -> response.setSkills((List<SkillResponse>) value);
+		case PROJECTS -> response.setProjects((List<ProjectResponse>) value);
+		case EXPERIENCES -> response.setExperiences((List<ExperienceResponse>) value);
+		case EDUCATIONS -> response.setEducations((List<EducationResponse>) value);
+		case AWARDS -> response.setAwards((List<AwardResponse>) value);
+		case CERTIFICATIONS -> response.setCertifications((List<CertificationResponse>) value);
+		case PROFILE_PHOTO -> response.setProfilePhoto((ProfilePhotoInfo) value);
+		case RESUME -> response.setResume((ResumeDownloadInfo) value);
+		}
+	}
+}
@@ -3,28 +3,55 @@ package com.yugantar.portfolio.serviceimpl;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.imageio.ImageIO;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.dto.ProfilePhotoInfo;
 import com.yugantar.portfolio.dto.ProfilePhotoResponse;
 import com.yugantar.portfolio.dto.ProfilePhotoUploadResponse;
+import com.yugantar.portfolio.entity.AssetType;
 import com.yugantar.portfolio.entity.ProfilePhotoEntity;
+import com.yugantar.portfolio.entity.ProfilePhotoVariantEntity;
+import com.yugantar.portfolio.exception.IngestRejectedException;
 import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.image.ImageEncoding;
+import com.yugantar.portfolio.image.ImagePlaceholder;
+import com.yugantar.portfolio.image.ImageProbe;
+import com.yugantar.portfolio.image.ImageProbe.ImageInfo;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.Cursors;
 import com.yugantar.portfolio.repository.ProfilePhotoRepository;
+import com.yugantar.portfolio.service.ActiveAssetService;
 import com.yugantar.portfolio.service.ProfilePhotoService;
+import com.yugantar.portfolio.service.ProfilePhotoVariantService;
+import com.yugantar.portfolio.storage.BlobStore;
+import com.yugantar.portfolio.storage.BlobStore.StoredBlob;
+import com.yugantar.portfolio.upload.IngestAdmission;
+import com.yugantar.portfolio.upload.StagedUpload;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +62,15 @@ import lombok.extern.slf4j.Slf4j;
 public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 
 	private final ProfilePhotoRepository profilePhotoRepository;
+	private final BlobStore blobStore;
+	private final ActiveAssetService activeAssetService;
+	private final ProfilePhotoVariantService profilePhotoVariantService;
+	private final IngestAdmission ingestAdmission;
+	private final TransactionTemplate transactionTemplate;
+	private final ResponseSnapshotCache responseSnapshotCache;
+
+	@Value("${profile-photo.optimize.jpeg-quality:0.82}")
+	private float jpegQuality;
 
 	// Allowed image content types
 	private static final List<String> ALLOWED_CONTENT_TYPES = Arrays.asList("image/jpeg", "image/jpg", "image/png",
@@ -55,7 +91,6 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 	private static final int MAX_HEIGHT = 4000;
 
 	@Override
-	@Transactional
 	public ProfilePhotoUploadResponse uploadProfilePhoto(MultipartFile file) {
 		log.info("Starting profile photo upload process for file: {}", file.getOriginalFilename());
 
@@ -68,61 +103,78 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 						.errorCode("VALIDATION_ERROR").build();
 			}
 
-			// Get image dimensions
-			BufferedImage image = ImageIO.read(new ByteArrayInputStream(file.getBytes()));
-			if (image == null) {
-				log.warn("Unable to read image file: {}", file.getOriginalFilename());
-				return ProfilePhotoUploadResponse.builder().success(false)
-						.message("Invalid image file. Please upload a valid image.").errorCode("INVALID_IMAGE").build();
+			// Read the dimensions from the header; pixels are decoded only for variants
+			ImageInfo image;
+			try (InputStream in = file.getInputStream()) {
+				image = ImageProbe.probe(in);
 			}
-
-			int width = image.getWidth();
-			int height = image.getHeight();
-
-			// Validate image dimensions
-			if (width < MIN_WIDTH || height < MIN_HEIGHT) {
-				return ProfilePhotoUploadResponse.builder().success(false).message(String
-						.format("Image dimensions too small. Minimum size is %dx%d pixels.", MIN_WIDTH, MIN_HEIGHT))
-						.errorCode("DIMENSIONS_TOO_SMALL").build();
+			ProfilePhotoUploadResponse dimensionError = checkDimensions(image, file.getOriginalFilename());
+			if (dimensionError != null) {
+				return dimensionError;
 			}
 
-			if (width > MAX_WIDTH || height > MAX_HEIGHT) {
-				return ProfilePhotoUploadResponse.builder().success(false).message(String
-						.format("Image dimensions too large. Maximum size is %dx%d pixels.", MAX_WIDTH, MAX_HEIGHT))
-						.errorCode("DIMENSIONS_TOO_LARGE").build();
+			// Reserve memory for decoding before the transaction starts, so
+			// waiting for it holds no connection
+			try (IngestAdmission.Permit permit = ingestAdmission
+					.acquire(IngestAdmission.imageCost(file.getSize(), image.width(), image.height(),
+							image.orientation() != 1))) {
+				return transactionTemplate.execute(status -> storeProfilePhoto(file, image, status));
 			}
 
-			// Generate unique file name
-			String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-			String fileExtension = getFileExtension(originalFileName);
-			String uniqueFileName = generateUniqueFileName(originalFileName, fileExtension);
-
-			// Deactivate all existing profile photos
-			profilePhotoRepository.deactivateAllPhotos();
-			log.info("Deactivated all existing profile photos");
+		} catch (IngestRejectedException e) {
+			throw e; // answered with 503 and Retry-After
+		} catch (OptimisticLockingFailureException e) {
+			throw e; // the transaction was rolled back, answered with 409
+		} catch (IOException e) {
+			log.error("Error reading image file during profile photo upload", e);
+			return fileReadError();
+		} catch (Exception e) {
+			// Thrown out of the transaction, so nothing stored was committed
+			log.error("Unexpected error during profile photo upload", e);
+			return ProfilePhotoUploadResponse.builder().success(false)
+					.message("An unexpected error occurred during upload. Please try again.")
+					.errorCode("INTERNAL_ERROR").build();
+		}
+	}
 
-			// Create profile photo entity
-			ProfilePhotoEntity photoEntity = ProfilePhotoEntity.builder().fileName(uniqueFileName)
-					.originalFileName(originalFileName).fileFormat(fileExtension.toUpperCase()).fileSize(file.getSize())
-					.contentType(file.getContentType()).imageData(file.getBytes()).uploadedDate(LocalDateTime.now())
-					.isActive(true).imageWidth(width).imageHeight(height).build();
+	@Override
+	public ProfilePhotoUploadResponse uploadProfilePhoto(StagedUpload upload) {
+		log.info("Committing chunked profile photo upload for file: {}", upload.originalFileName());
 
-			// Save to database
-			ProfilePhotoEntity savedPhoto = profilePhotoRepository.save(photoEntity);
-			log.info("Profile photo uploaded successfully with ID: {}, Size: {} bytes, Dimensions: {}x{}",
-					savedPhoto.getId(), savedPhoto.getFileSize(), width, height);
+		try {
+			String validationError = validateProfilePhoto(upload.originalFileName(), upload.contentType(),
+					upload.size());
+			if (validationError != null) {
+				log.warn("Profile photo upload validation failed: {}", validationError);
+				return ProfilePhotoUploadResponse.builder().success(false).message(validationError)
+						.errorCode("VALIDATION_ERROR").build();
+			}
 
-			// Create response
-			ProfilePhotoResponse photoResponse = mapToResponse(savedPhoto);
+			// Read the dimensions from the header; pixels are decoded only for variants
+			ImageInfo image;
+			try (InputStream in = Files.newInputStream(upload.file())) {
+				image = ImageProbe.probe(in);
+			}
+			ProfilePhotoUploadResponse dimensionError = checkDimensions(image, upload.originalFileName());
+			if (dimensionError != null) {
+				return dimensionError;
+			}
 
-			return ProfilePhotoUploadResponse.builder().success(true).message("Profile photo uploaded successfully")
-					.photoInfo(photoResponse).build();
+			try (IngestAdmission.Permit permit = ingestAdmission
+					.acquire(IngestAdmission.imageCost(upload.size(), image.width(), image.height(),
+							image.orientation() != 1))) {
+				return transactionTemplate.execute(status -> storeProfilePhoto(upload, image, status));
+			}
 
+		} catch (IngestRejectedException e) {
+			throw e; // answered with 503 and Retry-After
+		} catch (OptimisticLockingFailureException e) {
+			throw e; // the transaction was rolled back, answered with 409
 		} catch (IOException e) {
 			log.error("Error reading image file during profile photo upload", e);
-			return ProfilePhotoUploadResponse.builder().success(false)
-					.message("Error reading image file. Please try again.").errorCode("FILE_READ_ERROR").build();
+			return fileReadError();
 		} catch (Exception e) {
+			// Thrown out of the transaction, so nothing stored was committed
 			log.error("Unexpected error during profile photo upload", e);
 			return ProfilePhotoUploadResponse.builder().success(false)
 					.message("An unexpected error occurred during upload. Please try again.")
@@ -130,10 +182,202 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 		}
 	}
 
+	/**
+	 * Store the content of an uploaded photo and save or re-activate its row,
+	 * inside the upload transaction
+	 */
+	private ProfilePhotoUploadResponse storeProfilePhoto(MultipartFile file, ImageInfo image,
+			TransactionStatus status) {
+		try {
+			// Store image content outside the database
+			StoredBlob blob;
+			try (InputStream in = file.getInputStream()) {
+				blob = blobStore.put(in);
+			}
+			blobStore.deleteAfterRollback(blob);
+
+			Optional<ProfilePhotoUploadResponse> duplicate = reactivateDuplicate(blob.key());
+			if (duplicate.isPresent()) {
+				return duplicate.get();
+			}
+
+			return saveProfilePhoto(file.getOriginalFilename(), file.getContentType(), blob, image);
+		} catch (IOException e) {
+			// Nothing stored by a failed upload may be committed
+			status.setRollbackOnly();
+			log.error("Error reading image file during profile photo upload", e);
+			return fileReadError();
+		}
+	}
+
+	private ProfilePhotoUploadResponse storeProfilePhoto(StagedUpload upload, ImageInfo image,
+			TransactionStatus status) {
+		Optional<ProfilePhotoUploadResponse> duplicate = reactivateDuplicate(upload.sha256());
+		if (duplicate.isPresent()) {
+			return duplicate.get();
+		}
+
+		try {
+			// Hashed while the chunks were received, so the file is moved rather than re-read
+			StoredBlob blob = blobStore.putFile(upload.file(), upload.sha256());
+			blobStore.deleteAfterRollback(blob);
+
+			return saveProfilePhoto(upload.originalFileName(), upload.contentType(), blob, image);
+		} catch (IOException e) {
+			status.setRollbackOnly();
+			log.error("Error reading image file during profile photo upload", e);
+			return fileReadError();
+		}
+	}
+
+	private static ProfilePhotoUploadResponse fileReadError() {
+		return ProfilePhotoUploadResponse.builder().success(false)
+				.message("Error reading image file. Please try again.").errorCode("FILE_READ_ERROR").build();
+	}
+
+	/**
+	 * Check that the image header could be read and is within the allowed
+	 * dimensions
+	 * 
+	 * @return error response, or null if the image is acceptable
+	 */
+	private ProfilePhotoUploadResponse checkDimensions(ImageInfo image, String fileName) {
+		if (image == null) {
+			log.warn("Unable to read image file: {}", fileName);
+			return ProfilePhotoUploadResponse.builder().success(false)
+					.message("Invalid image file. Please upload a valid image.").errorCode("INVALID_IMAGE").build();
+		}
+
+		int width = image.width();
+		int height = image.height();
+
+		// Validate image dimensions
+		if (width < MIN_WIDTH || height < MIN_HEIGHT) {
+			return ProfilePhotoUploadResponse.builder().success(false).message(
+					String.format("Image dimensions too small. Minimum size is %dx%d pixels.", MIN_WIDTH, MIN_HEIGHT))
+					.errorCode("DIMENSIONS_TOO_SMALL").build();
+		}
+
+		if (width > MAX_WIDTH || height > MAX_HEIGHT) {
+			return ProfilePhotoUploadResponse.builder().success(false).message(
+					String.format("Image dimensions too large. Maximum size is %dx%d pixels.", MAX_WIDTH, MAX_HEIGHT))
+					.errorCode("DIMENSIONS_TOO_LARGE").build();
+		}
+
+		return null;
+	}
+
+	/**
+	 * If a photo with the same content was uploaded before, make that row active
+	 * again instead of adding a copy
+	 * 
+	 * @param contentHash SHA-256 of the uploaded image
+	 * @return response for the re-activated photo, or empty if the content is new
+	 */
+	private Optional<ProfilePhotoUploadResponse> reactivateDuplicate(String contentHash) {
+		Optional<ProfilePhotoEntity> existing = profilePhotoRepository.findLatestByUploadedContentHash(contentHash);
+		if (existing.isEmpty()) {
+			return Optional.empty();
+		}
+
+		ProfilePhotoEntity photo = existing.get();
+		activate(photo);
+		log.info("Uploaded profile photo matches existing photo ID: {}, re-activated it", photo.getId());
+
+		return Optional.of(ProfilePhotoUploadResponse.builder().success(true).duplicate(true)
+				.message("This photo was already uploaded, the existing copy is now active")
+				.photoInfo(mapToResponse(photo)).build());
+	}
+
+	/**
+	 * Point the active profile photo at the given one. Only the pointer row and
+	 * the flags of the old and new photo are updated.
+	 */
+	private void activate(ProfilePhotoEntity photo) {
+		Long previousId = activeAssetService.activate(AssetType.PROFILE_PHOTO, photo.getId());
+		profilePhotoRepository.updateActiveFlags(previousId, photo.getId());
+		photo.setActive(true);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.PROFILE_PHOTO);
+	}
+
+	/**
+	 * Record a stored image as the new active profile photo, together with its
+	 * placeholder and downscaled variants. The image is decoded once here and
+	 * everything is derived from that raster. An upright, metadata-free
+	 * re-encode is served instead of the upload when it is smaller; the upload
+	 * is then kept as the original.
+	 */
+	private ProfilePhotoUploadResponse saveProfilePhoto(String fileName, String contentType, StoredBlob blob,
+			ImageInfo image) throws IOException {
+		int width = image.width();
+		int height = image.height();
+
+		// Null when ImageIO has no reader for the format (WebP): served as uploaded,
+		// without placeholder or variants
+		BufferedImage decoded;
+		try (InputStream in = blobStore.open(blob.key())) {
+			decoded = ImageIO.read(in);
+		}
+
+		StoredBlob served = blob;
+		String servedContentType = contentType;
+		if (decoded != null) {
+			decoded = ImageEncoding.applyOrientation(decoded, image.orientation());
+			width = decoded.getWidth();
+			height = decoded.getHeight();
+
+			byte[] optimized = optimize(decoded, contentType);
+			if (optimized != null && optimized.length < blob.size()) {
+				served = blobStore.put(new ByteArrayInputStream(optimized));
+				blobStore.deleteAfterRollback(served);
+				servedContentType = isPng(contentType) ? "image/png" : "image/jpeg";
+				log.info("Re-encoded profile photo {} from {} to {} bytes", fileName, blob.size(), served.size());
+			}
+		}
+
+		// Generate unique file name
+		String originalFileName = StringUtils.cleanPath(fileName);
+		String fileExtension = getFileExtension(originalFileName);
+		String uniqueFileName = generateUniqueFileName(originalFileName, fileExtension);
+
+		// Create profile photo entity
+		ProfilePhotoEntity photoEntity = ProfilePhotoEntity.builder().fileName(uniqueFileName)
+				.originalFileName(originalFileName).fileFormat(fileExtension.toUpperCase()).fileSize(served.size())
+				.contentType(servedContentType).contentHash(served.key()).uploadedDate(LocalDateTime.now())
+				.isActive(false).imageWidth(width).imageHeight(height).build();
+		if (served != blob) {
+			photoEntity.setOriginalContentHash(blob.key());
+			photoEntity.setOriginalFileSize(blob.size());
+			photoEntity.setOriginalContentType(contentType);
+		}
+		if (decoded != null) {
+			photoEntity.setBlurHash(ImagePlaceholder.blurHash(decoded));
+			photoEntity.setDominantColor(ImagePlaceholder.dominantColor(decoded));
+		}
+
+		// Saved inactive; activate() flags it once the variants are in place
+		ProfilePhotoEntity savedPhoto = profilePhotoRepository.save(photoEntity);
+		if (decoded != null) {
+			profilePhotoVariantService.createVariants(savedPhoto.getId(), decoded, servedContentType, served.size());
+		} else {
+			log.info("No decoder for profile photo ID {} ({}), serving the original only", savedPhoto.getId(),
+					contentType);
+		}
+		activate(savedPhoto);
+		log.info("Profile photo uploaded successfully with ID: {}, Size: {} bytes, Dimensions: {}x{}",
+				savedPhoto.getId(), savedPhoto.getFileSize(), width, height);
+
+		// Create response
+		ProfilePhotoResponse photoResponse = mapToResponse(savedPhoto);
+
+		return ProfilePhotoUploadResponse.builder().success(true).message("Profile photo uploaded successfully")
+				.photoInfo(photoResponse).build();
+	}
+
 	@Override
 	public ProfilePhotoEntity getActiveProfilePhoto() {
 		log.debug("Fetching active profile photo");
-		return profilePhotoRepository.findByIsActiveTrue().orElse(null);
+		return profilePhotoRepository.findActivePhotoInfo().orElse(null);
 	}
 
 	@Override
@@ -144,9 +388,11 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 
 		if (activePhoto.isPresent()) {
 			ProfilePhotoEntity photo = activePhoto.get();
-			return ProfilePhotoInfo.builder().available(true).imageUrl("/api/profile-photo/view/" + photo.getId())
+			String imageUrl = "/api/profile-photo/view/" + photo.getId();
+			return ProfilePhotoInfo.builder().available(true).imageUrl(imageUrl).srcset(srcset(photo, imageUrl))
 					.fileName(photo.getOriginalFileName()).fileFormat(photo.getFileFormat()).photoId(photo.getId())
 					.imageWidth(photo.getImageWidth()).imageHeight(photo.getImageHeight())
+					.blurHash(photo.getBlurHash()).dominantColor(photo.getDominantColor())
 					.message("Profile photo is available").build();
 		} else {
 			log.info("No active profile photo found");
@@ -158,15 +404,29 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 	@Override
 	public ProfilePhotoEntity getProfilePhotoById(Long id) {
 		log.debug("Fetching profile photo by ID: {}", id);
-		return profilePhotoRepository.findById(id).orElse(null);
+		return profilePhotoRepository.findPhotoInfoById(id).orElse(null);
 	}
 
 	@Override
-	public List<ProfilePhotoResponse> getAllProfilePhotos() {
-		log.debug("Fetching all profile photos");
-		List<ProfilePhotoEntity> photos = profilePhotoRepository.findAllByOrderByUploadedDateDesc();
+	public CursorPage<ProfilePhotoResponse> getAllProfilePhotos(int limit, String after) {
+		log.debug("Fetching profile photos page, limit: {}, after: {}", limit, after);
+
+		// One extra row tells whether another page follows
+		Limit fetch = Limit.of(limit + 1);
+		List<ProfilePhotoEntity> rows;
+		if (after == null) {
+			rows = profilePhotoRepository.findPhotoInfoPage(fetch);
+		} else {
+			String[] key = Cursors.decode(after, 2);
+			try {
+				rows = profilePhotoRepository.findPhotoInfoPageAfter(LocalDateTime.parse(key[0]), Long.valueOf(key[1]), fetch);
+			} catch (DateTimeParseException | NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+		}
 
-		return photos.stream().map(this::mapToResponse).collect(Collectors.toList());
+		return CursorPage.of(rows, limit, photo -> Cursors.encode(photo.getUploadedDate(), photo.getId()),
+				this::mapToResponse);
 	}
 
 	@Override
@@ -180,21 +440,12 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 			return false;
 		}
 
-		try {
-			// Deactivate all photos
-			profilePhotoRepository.deactivateAllPhotos();
-
-			// Activate the selected photo
-			ProfilePhotoEntity photo = photoOpt.get();
-			photo.setActive(true);
-			profilePhotoRepository.save(photo);
+		// A concurrent activation fails with OptimisticLockingFailureException,
+		// answered with 409; the row exists, so this must not report false
+		activate(photoOpt.get());
 
-			log.info("Successfully set profile photo as active with ID: {}", id);
-			return true;
-		} catch (Exception e) {
-			log.error("Error setting profile photo as active with ID: {}", id, e);
-			return false;
-		}
+		log.info("Successfully set profile photo as active with ID: {}", id);
+		return true;
 	}
 
 	@Override
@@ -203,12 +454,19 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 		log.info("Deleting profile photo with ID: {}", id);
 
 		try {
-			if (!profilePhotoRepository.existsById(id)) {
+			ProfilePhotoEntity photo = profilePhotoRepository.findPhotoInfoById(id).orElse(null);
+			if (photo == null) {
 				log.warn("Profile photo not found with ID: {}", id);
 				throw new ResourceNotFoundException("Profile photo not found with ID: " + id);
 			}
 
+			activeAssetService.clearIfActive(AssetType.PROFILE_PHOTO, id);
+			responseSnapshotCache.invalidateAfterCommit(PortfolioSection.PROFILE_PHOTO);
+			profilePhotoVariantService.deleteVariants(id);
 			profilePhotoRepository.deleteById(id);
+			profilePhotoRepository.flush();
+			Stream.of(photo.getContentHash(), photo.getOriginalContentHash()).filter(Objects::nonNull)
+					.filter(hash -> !profilePhotoRepository.isBlobReferenced(hash)).forEach(blobStore::deleteAfterCommit);
 			log.info("Successfully deleted profile photo with ID: {}", id);
 			return true;
 		} catch (Exception e) {
@@ -224,19 +482,22 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 			return "Please select an image file to upload";
 		}
 
+		return validateProfilePhoto(file.getOriginalFilename(), file.getContentType(), file.getSize());
+	}
+
+	@Override
+	public String validateProfilePhoto(String originalFileName, String contentType, long fileSize) {
 		// Check file size
-		if (file.getSize() > MAX_FILE_SIZE) {
+		if (fileSize > MAX_FILE_SIZE) {
 			return String.format("File size exceeds maximum limit of %s", formatFileSize(MAX_FILE_SIZE));
 		}
 
 		// Check content type
-		String contentType = file.getContentType();
 		if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType.toLowerCase())) {
 			return "Invalid file type. Please upload JPG, PNG, or WebP images only";
 		}
 
 		// Check file extension
-		String originalFileName = file.getOriginalFilename();
 		if (originalFileName == null || originalFileName.trim().isEmpty()) {
 			return "Invalid file name";
 		}
@@ -247,23 +508,47 @@ public class ProfilePhotoServiceImpl implements ProfilePhotoService {
 		}
 
 		// Additional security check for file content
-		if (file.getSize() < 100) { // Too small to be a valid image
+		if (fileSize < 100) { // Too small to be a valid image
 			return "File appears to be corrupted or invalid";
 		}
 
 		return null; // No validation errors
 	}
 
-	@Override
-	public byte[] getImageData(Long id) {
-		log.debug("Fetching image data for ID: {}", id);
-		return profilePhotoRepository.findImageDataById(id).orElse(null);
+	/**
+	 * Re-encode an upright image without metadata: progressive JPEG at the
+	 * tuned quality, or PNG with a palette where that is lossless
+	 * 
+	 * @return encoded bytes, or null for formats that are served as uploaded
+	 */
+	private byte[] optimize(BufferedImage image, String contentType) throws IOException {
+		if (isPng(contentType)) {
+			return ImageEncoding.toPalettePng(image);
+		}
+		if ("image/jpeg".equalsIgnoreCase(contentType) || "image/jpg".equalsIgnoreCase(contentType)) {
+			return ImageEncoding.toJpeg(image, jpegQuality, true);
+		}
+		return null;
 	}
 
-	@Override
-	public byte[] getActiveProfilePhotoImageData() {
-		log.debug("Fetching active profile photo image data");
-		return profilePhotoRepository.findActivePhotoImageData().orElse(null);
+	private static boolean isPng(String contentType) {
+		return "image/png".equalsIgnoreCase(contentType);
+	}
+
+	/**
+	 * Build an img srcset listing every downscaled width and the original; the
+	 * format of each is negotiated when it is requested
+	 */
+	private String srcset(ProfilePhotoEntity photo, String imageUrl) {
+		int originalWidth = photo.getImageWidth() != null ? photo.getImageWidth() : Integer.MAX_VALUE;
+		List<String> candidates = new ArrayList<>();
+		profilePhotoVariantService.getVariants(photo.getId()).stream().map(ProfilePhotoVariantEntity::getWidth)
+				.filter(width -> width < originalWidth).distinct()
+				.forEach(width -> candidates.add(imageUrl + "?w=" + width + " " + width + "w"));
+		if (photo.getImageWidth() != null) {
+			candidates.add(imageUrl + " " + photo.getImageWidth() + "w");
+		}
+		return String.join(", ", candidates);
 	}
 
 	/**
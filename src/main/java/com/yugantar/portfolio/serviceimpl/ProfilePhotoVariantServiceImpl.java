@@ -0,0 +1,186 @@
+package com.yugantar.portfolio.serviceimpl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.MimeTypeUtils;
+
+import com.yugantar.portfolio.entity.ProfilePhotoEntity;
+import com.yugantar.portfolio.entity.ProfilePhotoVariantEntity;
+import com.yugantar.portfolio.image.ImageEncoding;
+import com.yugantar.portfolio.repository.ProfilePhotoVariantRepository;
+import com.yugantar.portfolio.service.ProfilePhotoVariantService;
+import com.yugantar.portfolio.storage.BlobStore;
+import com.yugantar.portfolio.storage.BlobStore.StoredBlob;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfilePhotoVariantServiceImpl implements ProfilePhotoVariantService {
+
+	private final ProfilePhotoVariantRepository variantRepository;
+	private final BlobStore blobStore;
+
+	private static final String WEBP = "image/webp";
+
+	@Value("${profile-photo.variants.widths:64,128,256,512,1024}")
+	private List<Integer> widths;
+
+	@Value("${profile-photo.variants.jpeg-quality:0.85}")
+	private float jpegQuality;
+
+	@Override
+	@Transactional
+	public List<ProfilePhotoVariantEntity> createVariants(Long photoId, BufferedImage image, String contentType,
+			long originalSize) {
+		long started = System.currentTimeMillis();
+		List<String> formats = formats(image, contentType);
+
+		// Alternative encodings at full size are kept only where they beat the original
+		List<ProfilePhotoVariantEntity> variants = new ArrayList<>();
+		for (String format : formats) {
+			byte[] data = encode(image, format);
+			if (data.length < originalSize) {
+				variants.add(store(photoId, image, format, data));
+			}
+		}
+
+		// Largest first, each scaled from the previous one, so every step is a
+		// small reduction of an already smooth image
+		List<Integer> targets = widths.stream().filter(w -> w < image.getWidth()).distinct().sorted(Comparator.reverseOrder())
+				.toList();
+		BufferedImage current = image;
+		for (int target : targets) {
+			current = ImageEncoding.scaleToWidth(current, target);
+			for (String format : formats) {
+				variants.add(store(photoId, current, format, encode(current, format)));
+			}
+		}
+
+		variants.sort(Comparator.comparingInt(ProfilePhotoVariantEntity::getWidth));
+		List<ProfilePhotoVariantEntity> saved = variantRepository.saveAll(variants);
+		log.info("Created {} variants ({}) for profile photo ID {} in {} ms", saved.size(), formats, photoId,
+				System.currentTimeMillis() - started);
+		return saved;
+	}
+
+	@Override
+	public ProfilePhotoVariantEntity selectVariant(ProfilePhotoEntity photo, Integer targetWidth,
+			List<MediaType> accepted) {
+		List<ProfilePhotoVariantEntity> variants = variantRepository.findByPhotoIdOrderByWidthAsc(photo.getId());
+		if (variants.isEmpty()) {
+			return null;
+		}
+
+		// Smallest downscaled width covering the target, else full size
+		int originalWidth = photo.getImageWidth() != null ? photo.getImageWidth() : Integer.MAX_VALUE;
+		int bucket = targetWidth == null ? originalWidth
+				: variants.stream().mapToInt(ProfilePhotoVariantEntity::getWidth)
+						.filter(w -> w >= targetWidth && w < originalWidth).min().orElse(originalWidth);
+
+		List<ProfilePhotoVariantEntity> candidates = variants.stream().filter(v -> v.getWidth() == bucket).toList();
+		List<ProfilePhotoVariantEntity> acceptable = candidates.stream()
+				.filter(v -> isAcceptable(v.getContentType(), accepted)).toList();
+		boolean originalAcceptable = bucket == originalWidth
+				&& isAcceptable(photo.getContentType() != null ? photo.getContentType() : "image/jpeg", accepted);
+
+		// The smallest encoding the client accepts; if it accepts none, keep the
+		// format the bucket was always served in
+		ProfilePhotoVariantEntity best = (acceptable.isEmpty() && !originalAcceptable ? candidates : acceptable)
+				.stream().min(Comparator.comparingLong(ProfilePhotoVariantEntity::getFileSize)).orElse(null);
+		if (bucket == originalWidth && (best == null || originalAcceptable && photo.getFileSize() != null
+				&& photo.getFileSize() <= best.getFileSize())) {
+			return null; // the original itself
+		}
+		return best;
+	}
+
+	@Override
+	public List<ProfilePhotoVariantEntity> getVariants(Long photoId) {
+		return variantRepository.findByPhotoIdOrderByWidthAsc(photoId);
+	}
+
+	@Override
+	@Transactional
+	public void deleteVariants(Long photoId) {
+		List<ProfilePhotoVariantEntity> variants = variantRepository.findByPhotoIdOrderByWidthAsc(photoId);
+		if (variants.isEmpty()) {
+			return;
+		}
+		variantRepository.deleteAll(variants);
+		variantRepository.flush();
+		variants.stream().map(ProfilePhotoVariantEntity::getContentHash).distinct()
+				.filter(hash -> !variantRepository.existsByContentHash(hash)).forEach(blobStore::deleteAfterCommit);
+	}
+
+	/**
+	 * Encodings produced for every size: progressive JPEG for opaque images, a
+	 * palette PNG for PNG originals or transparent images, and WebP when an
+	 * ImageIO WebP writer is installed
+	 */
+	private List<String> formats(BufferedImage image, String contentType) {
+		boolean alpha = ImageEncoding.hasAlpha(image);
+		List<String> formats = new ArrayList<>(3);
+		if (!alpha) {
+			formats.add(MediaType.IMAGE_JPEG_VALUE);
+		}
+		if (alpha || MediaType.IMAGE_PNG_VALUE.equalsIgnoreCase(contentType)) {
+			formats.add(MediaType.IMAGE_PNG_VALUE);
+		}
+		if (ImageEncoding.canWrite(WEBP)) {
+			formats.add(WEBP);
+		}
+		return formats;
+	}
+
+	/**
+	 * Whether the most specific Accept range covering the type has a non-zero
+	 * quality; an empty Accept header accepts everything
+	 */
+	private static boolean isAcceptable(String contentType, List<MediaType> accepted) {
+		if (accepted.isEmpty()) {
+			return true;
+		}
+		MediaType type = MediaType.parseMediaType(contentType);
+		List<MediaType> ranges = new ArrayList<>(accepted);
+		MimeTypeUtils.sortBySpecificity(ranges);
+		return ranges.stream().filter(range -> range.includes(type)).findFirst()
+				.map(range -> range.getQualityValue() > 0).orElse(false);
+	}
+
+	private byte[] encode(BufferedImage image, String format) {
+		try {
+			return switch (format) {
+			case MediaType.IMAGE_PNG_VALUE -> ImageEncoding.toPalettePng(image);
+			case WEBP -> ImageEncoding.toWebp(image, jpegQuality);
+			default -> ImageEncoding.toJpeg(image, jpegQuality, true);
+			};
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to encode profile photo variant as " + format, e);
+		}
+	}
+
+	private ProfilePhotoVariantEntity store(Long photoId, BufferedImage image, String format, byte[] data) {
+		try {
+			StoredBlob blob = blobStore.put(new ByteArrayInputStream(data));
+			blobStore.deleteAfterRollback(blob);
+			return ProfilePhotoVariantEntity.builder().photoId(photoId).width(image.getWidth())
+					.height(image.getHeight()).contentType(format).fileSize(blob.size()).contentHash(blob.key())
+					.build();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to store profile photo variant", e);
+		}
+	}
+}
@@ -1,20 +1,30 @@
 package com.yugantar.portfolio.serviceimpl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import com.sun.jdi.request.DuplicateRequestException;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.config.CacheConfig;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.dto.ProjectRequest;
 import com.yugantar.portfolio.dto.ProjectResponse;
 import com.yugantar.portfolio.entity.ProjectEntity;
 import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.KeysetOrder;
+import com.yugantar.portfolio.projection.SparseFields;
 import com.yugantar.portfolio.repository.ProjectRepository;
 import com.yugantar.portfolio.service.ProjectService;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -24,7 +34,26 @@ public class ProjectServiceImpl implements ProjectService {
 	@Autowired
 	private ProjectRepository projectRepository;
 
+	@Autowired
+	private ResponseSnapshotCache responseSnapshotCache;
+
+	// Orders accepted by getProjectsPage, each backed by a (column, id) index
+	private static final KeysetOrder<ProjectEntity> ORDERS = KeysetOrder.byId(ProjectEntity::getId)
+			.and("title", ProjectEntity::getTitle, value -> value);
+
+	// Properties /api/projects?fields= may select
+	private static final SparseFields<ProjectEntity> FIELDS = SparseFields.of(ProjectEntity.class)
+			.column("title")
+			.column("description")
+			.column("techStack")
+			.column("githubLink")
+			.column("liveDemoLink");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Override
+	@Cacheable(cacheNames = CacheConfig.PROJECTS, sync = true)
 	public List<ProjectResponse> getAllProjects() {
 		List<ProjectEntity> projects = projectRepository.findAll();
 
@@ -32,11 +61,26 @@ public class ProjectServiceImpl implements ProjectService {
 			throw new ResourceNotFoundException("No projects found");
 		}
 
-		return projects.stream()
-				.map(p -> ProjectResponse.builder().id(p.getId()).title(p.getTitle()).description(p.getDescription())
-						.techStack(p.getTechStack()).githubLink(p.getGithubLink()).liveDemoLink(p.getLiveDemoLink())
-						.build())
-				.collect(Collectors.toList());
+		return projects.stream().map(this::mapToResponse).collect(Collectors.toList());
+	}
+
+	@Override
+	public CursorPage<ProjectResponse> getProjectsPage(int limit, String after, String orderBy, String direction) {
+		return ORDERS.page(projectRepository, orderBy, direction, limit, after, this::mapToResponse);
+	}
+
+	@Override
+	public List<Map<String, Object>> getProjectFields(String fields) {
+		List<Map<String, Object>> projects = FIELDS.select(entityManager, fields);
+		if (projects.isEmpty()) {
+			throw new ResourceNotFoundException("No projects found");
+		}
+		return projects;
+	}
+
+	private ProjectResponse mapToResponse(ProjectEntity p) {
+		return ProjectResponse.builder().id(p.getId()).title(p.getTitle()).description(p.getDescription())
+				.techStack(p.getTechStack()).githubLink(p.getGithubLink()).liveDemoLink(p.getLiveDemoLink()).build();
 	}
 
 	@Override
@@ -53,6 +97,7 @@ public class ProjectServiceImpl implements ProjectService {
 				.liveDemoLink(request.getLiveDemoLink()).build();
 
 		projectRepository.save(project);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.PROJECTS);
 		log.info("Project saved: {}", project.getTitle());
 	}
 
@@ -81,6 +126,7 @@ public class ProjectServiceImpl implements ProjectService {
 		project.setLiveDemoLink(request.getLiveDemoLink());
 
 		projectRepository.save(project);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.PROJECTS);
 		log.info("Project updated: {}", project.getTitle());
 	}
 
@@ -90,6 +136,7 @@ public class ProjectServiceImpl implements ProjectService {
 				.orElseThrow(() -> new ResourceNotFoundException("Project not found with ID: " + id));
 
 		projectRepository.delete(project);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.PROJECTS);
 		log.info("Deleted project with ID: {}", id);
 	}
 
@@ -1,26 +1,44 @@
 package com.yugantar.portfolio.serviceimpl;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.yugantar.portfolio.cache.ActiveResumeCache;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.dto.ResumeDownloadInfo;
 import com.yugantar.portfolio.dto.ResumeResponse;
 import com.yugantar.portfolio.dto.ResumeUploadResponse;
+import com.yugantar.portfolio.entity.AssetType;
 import com.yugantar.portfolio.entity.ResumeEntity;
+import com.yugantar.portfolio.exception.IngestRejectedException;
 import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.Cursors;
 import com.yugantar.portfolio.repository.ResumeRepository;
+import com.yugantar.portfolio.service.ActiveAssetService;
 import com.yugantar.portfolio.service.ResumeService;
+import com.yugantar.portfolio.service.ResumeThumbnailService;
+import com.yugantar.portfolio.storage.BlobStore;
+import com.yugantar.portfolio.storage.BlobStore.StoredBlob;
+import com.yugantar.portfolio.upload.IngestAdmission;
+import com.yugantar.portfolio.upload.StagedUpload;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +49,13 @@ import lombok.extern.slf4j.Slf4j;
 public class ResumeServiceImpl implements ResumeService {
 
 	private final ResumeRepository resumeRepository;
+	private final BlobStore blobStore;
+	private final ActiveResumeCache activeResumeCache;
+	private final ResumeThumbnailService resumeThumbnailService;
+	private final ActiveAssetService activeAssetService;
+	private final IngestAdmission ingestAdmission;
+	private final TransactionTemplate transactionTemplate;
+	private final ResponseSnapshotCache responseSnapshotCache;
 
 	// Allowed file types
 	private static final List<String> ALLOWED_CONTENT_TYPES = Arrays.asList("application/pdf", "application/msword",
@@ -43,7 +68,6 @@ public class ResumeServiceImpl implements ResumeService {
 	private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB in bytes
 
 	@Override
-	@Transactional
 	public ResumeUploadResponse uploadResume(MultipartFile file) {
 		log.info("Starting resume upload process for file: {}", file.getOriginalFilename());
 
@@ -56,37 +80,48 @@ public class ResumeServiceImpl implements ResumeService {
 						.errorCode("VALIDATION_ERROR").build();
 			}
 
-			// Generate unique file name
-			String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-			String fileExtension = getFileExtension(originalFileName);
-			String uniqueFileName = generateUniqueFileName(originalFileName, fileExtension);
-
-			// Deactivate all existing resumes
-			resumeRepository.deactivateAllResumes();
-			log.info("Deactivated all existing resumes");
+			// Streamed to storage, so only buffers count against the ingest budget.
+			// Reserved before the transaction starts, so waiting holds no connection.
+			try (IngestAdmission.Permit permit = ingestAdmission.acquire(IngestAdmission.STREAMING_COST)) {
+				return transactionTemplate.execute(status -> storeResume(file, status));
+			}
 
-			// Create resume entity
-			ResumeEntity resumeEntity = ResumeEntity.builder().fileName(uniqueFileName)
-					.originalFileName(originalFileName).fileFormat(fileExtension.toUpperCase()).fileSize(file.getSize())
-					.contentType(file.getContentType()).fileData(file.getBytes()).uploadedDate(LocalDateTime.now())
-					.isActive(true).build();
+		} catch (IngestRejectedException e) {
+			throw e; // answered with 503 and Retry-After
+		} catch (OptimisticLockingFailureException e) {
+			throw e; // the transaction was rolled back, answered with 409
+		} catch (Exception e) {
+			// Thrown out of the transaction, so nothing stored was committed
+			log.error("Unexpected error during resume upload", e);
+			return ResumeUploadResponse.builder().success(false)
+					.message("An unexpected error occurred during upload. Please try again.")
+					.errorCode("INTERNAL_ERROR").build();
+		}
+	}
 
-			// Save to database
-			ResumeEntity savedResume = resumeRepository.save(resumeEntity);
-			log.info("Resume uploaded successfully with ID: {}, Size: {} bytes", savedResume.getId(),
-					savedResume.getFileSize());
+	@Override
+	public ResumeUploadResponse uploadResume(StagedUpload upload) {
+		log.info("Committing chunked resume upload for file: {}", upload.originalFileName());
 
-			// Create response
-			ResumeResponse resumeResponse = mapToResponse(savedResume);
+		try {
+			String validationError = validateResumeFile(upload.originalFileName(), upload.contentType(),
+					upload.size());
+			if (validationError != null) {
+				log.warn("Resume upload validation failed: {}", validationError);
+				return ResumeUploadResponse.builder().success(false).message(validationError)
+						.errorCode("VALIDATION_ERROR").build();
+			}
 
-			return ResumeUploadResponse.builder().success(true).message("Resume uploaded successfully")
-					.resumeInfo(resumeResponse).build();
+			try (IngestAdmission.Permit permit = ingestAdmission.acquire(IngestAdmission.STREAMING_COST)) {
+				return transactionTemplate.execute(status -> storeResume(upload, status));
+			}
 
-		} catch (IOException e) {
-			log.error("Error reading file data during resume upload", e);
-			return ResumeUploadResponse.builder().success(false).message("Error reading file data. Please try again.")
-					.errorCode("FILE_READ_ERROR").build();
+		} catch (IngestRejectedException e) {
+			throw e; // answered with 503 and Retry-After
+		} catch (OptimisticLockingFailureException e) {
+			throw e; // the transaction was rolled back, answered with 409
 		} catch (Exception e) {
+			// Thrown out of the transaction, so nothing stored was committed
 			log.error("Unexpected error during resume upload", e);
 			return ResumeUploadResponse.builder().success(false)
 					.message("An unexpected error occurred during upload. Please try again.")
@@ -94,22 +129,140 @@ public class ResumeServiceImpl implements ResumeService {
 		}
 	}
 
+	/**
+	 * Store the content of an uploaded resume and save or re-activate its row,
+	 * inside the upload transaction
+	 */
+	private ResumeUploadResponse storeResume(MultipartFile file, TransactionStatus status) {
+		try {
+			// Store file content outside the database
+			StoredBlob blob;
+			try (InputStream in = file.getInputStream()) {
+				blob = blobStore.put(in);
+			}
+			blobStore.deleteAfterRollback(blob);
+
+			Optional<ResumeUploadResponse> duplicate = reactivateDuplicate(blob.key());
+			if (duplicate.isPresent()) {
+				return duplicate.get();
+			}
+
+			return saveResume(file.getOriginalFilename(), file.getContentType(), blob);
+		} catch (IOException e) {
+			// Nothing stored by a failed upload may be committed
+			status.setRollbackOnly();
+			log.error("Error reading file data during resume upload", e);
+			return fileReadError();
+		}
+	}
+
+	private ResumeUploadResponse storeResume(StagedUpload upload, TransactionStatus status) {
+		Optional<ResumeUploadResponse> duplicate = reactivateDuplicate(upload.sha256());
+		if (duplicate.isPresent()) {
+			return duplicate.get();
+		}
+
+		try {
+			// Hashed while the chunks were received, so the file is moved rather than re-read
+			StoredBlob blob = blobStore.putFile(upload.file(), upload.sha256());
+			blobStore.deleteAfterRollback(blob);
+
+			return saveResume(upload.originalFileName(), upload.contentType(), blob);
+		} catch (IOException e) {
+			status.setRollbackOnly();
+			log.error("Error storing file data during resume upload", e);
+			return fileReadError();
+		}
+	}
+
+	private static ResumeUploadResponse fileReadError() {
+		return ResumeUploadResponse.builder().success(false).message("Error reading file data. Please try again.")
+				.errorCode("FILE_READ_ERROR").build();
+	}
+
+	/**
+	 * If a resume with the same content was uploaded before, make that row active
+	 * again instead of adding a copy
+	 * 
+	 * @param contentHash SHA-256 of the uploaded file
+	 * @return response for the re-activated resume, or empty if the content is new
+	 */
+	private Optional<ResumeUploadResponse> reactivateDuplicate(String contentHash) {
+		Optional<ResumeEntity> existing = resumeRepository.findFirstByContentHashOrderByUploadedDateDesc(contentHash);
+		if (existing.isEmpty()) {
+			return Optional.empty();
+		}
+
+		ResumeEntity resume = existing.get();
+		activate(resume);
+		log.info("Uploaded resume matches existing resume ID: {}, re-activated it", resume.getId());
+
+		return Optional.of(ResumeUploadResponse.builder().success(true).duplicate(true)
+				.message("This resume was already uploaded, the existing copy is now active")
+				.resumeInfo(mapToResponse(resume)).build());
+	}
+
+	/**
+	 * Point the active resume at the given one. Only the pointer row and the
+	 * flags of the old and new resume are updated.
+	 */
+	private void activate(ResumeEntity resume) {
+		Long previousId = activeAssetService.activate(AssetType.RESUME, resume.getId());
+		resumeRepository.updateActiveFlags(previousId, resume.getId());
+		resume.setActive(true);
+		activeResumeCache.invalidateAfterCommit();
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.RESUME);
+	}
+
+	/**
+	 * Record a stored resume as the new active one
+	 */
+	private ResumeUploadResponse saveResume(String fileName, String contentType, StoredBlob blob) {
+		// Generate unique file name
+		String originalFileName = StringUtils.cleanPath(fileName);
+		String fileExtension = getFileExtension(originalFileName);
+		String uniqueFileName = generateUniqueFileName(originalFileName, fileExtension);
+
+		// Create resume entity
+		ResumeEntity resumeEntity = ResumeEntity.builder().fileName(uniqueFileName).originalFileName(originalFileName)
+				.fileFormat(fileExtension.toUpperCase()).fileSize(blob.size()).contentType(contentType)
+				.contentHash(blob.key()).uploadedDate(LocalDateTime.now()).isActive(false).build();
+
+		// Save to database
+		ResumeEntity savedResume = resumeRepository.save(resumeEntity);
+		activate(savedResume);
+		resumeThumbnailService.scheduleRendering(savedResume.getId());
+		log.info("Resume uploaded successfully with ID: {}, Size: {} bytes", savedResume.getId(),
+				savedResume.getFileSize());
+
+		// Create response
+		ResumeResponse resumeResponse = mapToResponse(savedResume);
+
+		return ResumeUploadResponse.builder().success(true).message("Resume uploaded successfully")
+				.resumeInfo(resumeResponse).build();
+	}
+
 	@Override
 	public ResumeEntity getActiveResume() {
 		log.debug("Fetching active resume");
-		return resumeRepository.findByIsActiveTrue().orElse(null);
+		return activeResumeCache.get(resumeRepository::findActiveResumeInfo).orElse(null);
 	}
 
 	@Override
 	public ResumeDownloadInfo getResumeDownloadInfo() {
 		log.debug("Getting resume download info");
 
-		Optional<ResumeEntity> activeResume = resumeRepository.findByIsActiveTrue();
+		Optional<ResumeEntity> activeResume = activeResumeCache.get(resumeRepository::findActiveResumeInfo);
 
 		if (activeResume.isPresent()) {
 			ResumeEntity resume = activeResume.get();
+			// Page one is linked once the background rendering has stored it
+			String previewImageUrl = "PDF".equalsIgnoreCase(resume.getFileFormat())
+					&& resumeThumbnailService.hasThumbnail(resume.getId(), 1)
+							? "/api/resume/" + resume.getId() + "/thumbnail?page=1"
+							: null;
 			return ResumeDownloadInfo.builder().available(true).fileName(resume.getOriginalFileName())
-					.fileFormat(resume.getFileFormat()).resumeId(resume.getId())
+					.fileFormat(resume.getFileFormat()).resumeId(resume.getId()).previewImageUrl(previewImageUrl)
 					.message("Resume is available for download").build();
 		} else {
 			log.info("No active resume found for download");
@@ -122,15 +275,29 @@ public class ResumeServiceImpl implements ResumeService {
 	@Override
 	public ResumeEntity getResumeById(Long id) {
 		log.debug("Fetching resume by ID: {}", id);
-		return resumeRepository.findById(id).orElse(null);
+		return resumeRepository.findResumeInfoById(id).orElse(null);
 	}
 
 	@Override
-	public List<ResumeResponse> getAllResumes() {
-		log.debug("Fetching all resumes");
-		List<ResumeEntity> resumes = resumeRepository.findAllByOrderByUploadedDateDesc();
+	public CursorPage<ResumeResponse> getAllResumes(int limit, String after) {
+		log.debug("Fetching resumes page, limit: {}, after: {}", limit, after);
+
+		// One extra row tells whether another page follows
+		Limit fetch = Limit.of(limit + 1);
+		List<ResumeEntity> rows;
+		if (after == null) {
+			rows = resumeRepository.findResumeInfoPage(fetch);
+		} else {
+			String[] key = Cursors.decode(after, 2);
+			try {
+				rows = resumeRepository.findResumeInfoPageAfter(LocalDateTime.parse(key[0]), Long.valueOf(key[1]), fetch);
+			} catch (DateTimeParseException | NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+		}
 
-		return resumes.stream().map(this::mapToResponse).collect(Collectors.toList());
+		return CursorPage.of(rows, limit, resume -> Cursors.encode(resume.getUploadedDate(), resume.getId()),
+				this::mapToResponse);
 	}
 
 	@Override
@@ -144,21 +311,12 @@ public class ResumeServiceImpl implements ResumeService {
 			return false;
 		}
 
-		try {
-			// Deactivate all resumes
-			resumeRepository.deactivateAllResumes();
-
-			// Activate the selected resume
-			ResumeEntity resume = resumeOpt.get();
-			resume.setActive(true);
-			resumeRepository.save(resume);
+		// A concurrent activation fails with OptimisticLockingFailureException,
+		// answered with 409; the row exists, so this must not report false
+		activate(resumeOpt.get());
 
-			log.info("Successfully set resume as active with ID: {}", id);
-			return true;
-		} catch (Exception e) {
-			log.error("Error setting resume as active with ID: {}", id, e);
-			return false;
-		}
+		log.info("Successfully set resume as active with ID: {}", id);
+		return true;
 	}
 
 	@Override
@@ -167,12 +325,21 @@ public class ResumeServiceImpl implements ResumeService {
 		log.info("Deleting resume with ID: {}", id);
 
 		try {
-			if (!resumeRepository.existsById(id)) {
+			ResumeEntity resume = resumeRepository.findResumeInfoById(id).orElse(null);
+			if (resume == null) {
 				log.warn("Resume not found with ID: {}", id);
 				throw new ResourceNotFoundException("Resume not found with ID: " + id);
 			}
 
+			activeAssetService.clearIfActive(AssetType.RESUME, id);
+			resumeThumbnailService.deleteThumbnails(id);
 			resumeRepository.deleteById(id);
+			resumeRepository.flush();
+			activeResumeCache.invalidateAfterCommit();
+			responseSnapshotCache.invalidateAfterCommit(PortfolioSection.RESUME);
+			if (resume.getContentHash() != null && !resumeRepository.existsByContentHash(resume.getContentHash())) {
+				blobStore.deleteAfterCommit(resume.getContentHash());
+			}
 			log.info("Successfully deleted resume with ID: {}", id);
 			return true;
 		} catch (Exception e) {
@@ -188,19 +355,22 @@ public class ResumeServiceImpl implements ResumeService {
 			return "Please select a file to upload";
 		}
 
+		return validateResumeFile(file.getOriginalFilename(), file.getContentType(), file.getSize());
+	}
+
+	@Override
+	public String validateResumeFile(String originalFileName, String contentType, long fileSize) {
 		// Check file size
-		if (file.getSize() > MAX_FILE_SIZE) {
+		if (fileSize > MAX_FILE_SIZE) {
 			return String.format("File size exceeds maximum limit of %s", formatFileSize(MAX_FILE_SIZE));
 		}
 
 		// Check content type
-		String contentType = file.getContentType();
 		if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType.toLowerCase())) {
 			return "Invalid file type. Please upload PDF, DOC, or DOCX files only";
 		}
 
 		// Check file extension
-		String originalFileName = file.getOriginalFilename();
 		if (originalFileName == null || originalFileName.trim().isEmpty()) {
 			return "Invalid file name";
 		}
@@ -211,7 +381,7 @@ public class ResumeServiceImpl implements ResumeService {
 		}
 
 		// Additional security check for file content
-		if (file.getSize() < 100) { // Too small to be a valid document
+		if (fileSize < 100) { // Too small to be a valid document
 			return "File appears to be corrupted or invalid";
 		}
 
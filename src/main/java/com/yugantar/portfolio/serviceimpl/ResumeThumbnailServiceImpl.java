@@ -0,0 +1,210 @@
+package com.yugantar.portfolio.serviceimpl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.dto.PortfolioSection;
+import com.yugantar.portfolio.entity.ResumeEntity;
+import com.yugantar.portfolio.entity.ResumeThumbnailEntity;
+import com.yugantar.portfolio.image.ImageEncoding;
+import com.yugantar.portfolio.repository.ResumeRepository;
+import com.yugantar.portfolio.repository.ResumeThumbnailRepository;
+import com.yugantar.portfolio.service.ResumeThumbnailService;
+import com.yugantar.portfolio.storage.BlobStore;
+import com.yugantar.portfolio.storage.BlobStore.StoredBlob;
+import com.yugantar.portfolio.upload.IngestAdmission;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeThumbnailServiceImpl implements ResumeThumbnailService {
+
+	private final ResumeRepository resumeRepository;
+	private final ResumeThumbnailRepository thumbnailRepository;
+	private final BlobStore blobStore;
+	private final TransactionTemplate transactionTemplate;
+	private final TaskExecutor thumbnailExecutor; // resolved by bean name
+	private final IngestAdmission ingestAdmission;
+	private final ResponseSnapshotCache responseSnapshotCache;
+
+	@Value("${resume.thumbnail.pages:1}")
+	private int pageCount;
+
+	@Value("${resume.thumbnail.widths:320,640,1024}")
+	private List<Integer> widths;
+
+	@Value("${resume.thumbnail.format:jpeg}")
+	private String format;
+
+	// Upper bound on render resolution so odd page sizes cannot blow up memory
+	private static final float MAX_DPI = 300f;
+
+	private static final float JPEG_QUALITY = 0.8f;
+
+	@Override
+	public void scheduleRendering(Long resumeId) {
+		Runnable submit = () -> {
+			try {
+				thumbnailExecutor.execute(() -> renderThumbnails(resumeId));
+				log.debug("Queued thumbnail rendering for resume ID: {}", resumeId);
+			} catch (TaskRejectedException e) {
+				log.warn("Thumbnail queue is full, skipping rendering for resume ID: {}", resumeId);
+			}
+		};
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			submit.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				submit.run();
+			}
+		});
+	}
+
+	@Override
+	public void renderThumbnails(Long resumeId) {
+		ResumeEntity resume = resumeRepository.findResumeInfoById(resumeId).orElse(null);
+		if (resume == null || resume.getContentHash() == null) {
+			log.debug("Resume ID {} no longer exists, skipping thumbnails", resumeId);
+			return;
+		}
+		if (!"PDF".equalsIgnoreCase(resume.getFileFormat())) {
+			log.debug("Resume ID {} is {}, thumbnails are only rendered for PDF", resumeId, resume.getFileFormat());
+			return;
+		}
+
+		long started = System.currentTimeMillis();
+		List<ResumeThumbnailEntity> rendered = new ArrayList<>();
+		int maxWidth = widths.stream().max(Integer::compare).orElse(640);
+		// Pages are rendered one at a time; budget for a portrait page at the largest width
+		long cost = IngestAdmission.imageCost(resume.getFileSize() != null ? resume.getFileSize() : 0, maxWidth,
+				maxWidth * 3 / 2, false);
+		try (IngestAdmission.Permit permit = ingestAdmission.acquire(cost);
+				PDDocument document = load(resume.getContentHash())) {
+			PDFRenderer renderer = new PDFRenderer(document);
+			int pages = Math.min(pageCount, document.getNumberOfPages());
+
+			for (int page = 0; page < pages; page++) {
+				PDRectangle box = document.getPage(page).getCropBox();
+				float dpi = Math.min(MAX_DPI, maxWidth * 72f / box.getWidth());
+				BufferedImage image = renderer.renderImageWithDPI(page, dpi, ImageType.RGB);
+
+				for (int width : widths) {
+					BufferedImage scaled = ImageEncoding.scaleToWidth(image, width);
+					rendered.add(store(resumeId, page + 1, scaled));
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			log.error("Failed to render thumbnails for resume ID: {}", resumeId, e);
+			return;
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			if (!resumeRepository.existsById(resumeId)) {
+				// Deleted while rendering
+				rendered.forEach(t -> deleteIfUnreferenced(t.getContentHash()));
+				return;
+			}
+			replaceThumbnails(resumeId, rendered);
+		});
+		// The download info snapshot links the first page once it exists
+		responseSnapshotCache.invalidate(PortfolioSection.RESUME);
+		log.info("Rendered {} thumbnails for resume ID {} in {} ms", rendered.size(), resumeId,
+				System.currentTimeMillis() - started);
+	}
+
+	@Override
+	public ResumeThumbnailEntity getThumbnail(Long resumeId, int pageNumber, Integer width) {
+		List<ResumeThumbnailEntity> thumbnails = thumbnailRepository
+				.findByResumeIdAndPageNumberOrderByWidthAsc(resumeId, pageNumber);
+		if (thumbnails.isEmpty()) {
+			return null;
+		}
+		if (width == null) {
+			return thumbnails.get(0);
+		}
+		return thumbnails.stream().filter(t -> t.getWidth() >= width).findFirst()
+				.orElse(thumbnails.get(thumbnails.size() - 1));
+	}
+
+	@Override
+	public boolean hasThumbnail(Long resumeId, int pageNumber) {
+		return thumbnailRepository.existsByResumeIdAndPageNumber(resumeId, pageNumber);
+	}
+
+	@Override
+	@Transactional
+	public void deleteThumbnails(Long resumeId) {
+		replaceThumbnails(resumeId, List.of());
+	}
+
+	private void replaceThumbnails(Long resumeId, List<ResumeThumbnailEntity> thumbnails) {
+		List<ResumeThumbnailEntity> existing = thumbnailRepository.findByResumeIdOrderByPageNumberAscWidthAsc(resumeId);
+		thumbnailRepository.deleteAll(existing);
+		thumbnailRepository.saveAll(thumbnails);
+		thumbnailRepository.flush();
+		existing.stream().map(ResumeThumbnailEntity::getContentHash).distinct()
+				.forEach(this::deleteIfUnreferenced);
+	}
+
+	private void deleteIfUnreferenced(String contentHash) {
+		if (!thumbnailRepository.existsByContentHash(contentHash)) {
+			blobStore.deleteAfterCommit(contentHash);
+		}
+	}
+
+	private ResumeThumbnailEntity store(Long resumeId, int pageNumber, BufferedImage image) throws IOException {
+		boolean png = "png".equalsIgnoreCase(format);
+		byte[] data = png ? ImageEncoding.toPng(image) : ImageEncoding.toJpeg(image, JPEG_QUALITY, true);
+		StoredBlob blob = blobStore.put(new ByteArrayInputStream(data));
+
+		return ResumeThumbnailEntity.builder().resumeId(resumeId).pageNumber(pageNumber).width(image.getWidth())
+				.height(image.getHeight()).contentType(png ? "image/png" : "image/jpeg").fileSize(blob.size())
+				.contentHash(blob.key()).build();
+	}
+
+	/**
+	 * Open the PDF straight from its file when the store is file-backed. Parsed
+	 * streams are cached in temp files rather than on the heap.
+	 */
+	private PDDocument load(String contentHash) throws IOException {
+		Optional<Path> file = blobStore.localPath(contentHash);
+		if (file.isPresent()) {
+			return Loader.loadPDF(file.get().toFile(), IOUtils.createTempFileOnlyStreamCache());
+		}
+		try (InputStream in = blobStore.open(contentHash)) {
+			return Loader.loadPDF(new RandomAccessReadBuffer(in), "", null, null,
+					IOUtils.createTempFileOnlyStreamCache());
+		}
+	}
+}
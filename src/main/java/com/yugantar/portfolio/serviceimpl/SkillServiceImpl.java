@@ -6,13 +6,19 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import com.sun.jdi.request.DuplicateRequestException;
+import com.yugantar.portfolio.cache.ResponseSnapshotCache;
+import com.yugantar.portfolio.config.CacheConfig;
+import com.yugantar.portfolio.dto.PortfolioSection;
 import com.yugantar.portfolio.dto.SkillRequest;
 import com.yugantar.portfolio.dto.SkillResponse;
 import com.yugantar.portfolio.entity.SkillEntity;
 import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.paging.CursorPage;
+import com.yugantar.portfolio.paging.KeysetOrder;
 import com.yugantar.portfolio.repository.SkillRepository;
 import com.yugantar.portfolio.service.SkillService;
 
@@ -25,6 +31,14 @@ public class SkillServiceImpl implements SkillService {
 	@Autowired
 	private SkillRepository skillRepo;
 
+	@Autowired
+	private ResponseSnapshotCache responseSnapshotCache;
+
+	// Orders accepted by getSkillsPage, each backed by a (column, id) index
+	private static final KeysetOrder<SkillEntity> ORDERS = KeysetOrder.byId(SkillEntity::getId)
+			.and("name", SkillEntity::getName, value -> value)
+			.and("proficiency", SkillEntity::getProficiency, Integer::valueOf);
+
 	@Override
 	public SkillResponse createSkill(SkillRequest request) {
 		log.info("Creating skill: {}", request.getName());
@@ -38,6 +52,7 @@ public class SkillServiceImpl implements SkillService {
 				.proficiency(Optional.ofNullable(request.getProficiency()).orElse(0)).build();
 
 		SkillEntity saved = skillRepo.save(skill);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.SKILLS);
 		return mapToResponse(saved);
 	}
 
@@ -62,7 +77,9 @@ public class SkillServiceImpl implements SkillService {
 		existing.setCategory(request.getCategory());
 		existing.setProficiency(newProf);
 
-		return mapToResponse(skillRepo.save(existing));
+		SkillEntity saved = skillRepo.save(existing);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.SKILLS);
+		return mapToResponse(saved);
 	}
 
 	@Override
@@ -72,9 +89,11 @@ public class SkillServiceImpl implements SkillService {
 		SkillEntity skill = skillRepo.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Skill not found with id: " + id));
 		skillRepo.delete(skill);
+		responseSnapshotCache.invalidateAfterCommit(PortfolioSection.SKILLS);
 	}
 
 	@Override
+	@Cacheable(cacheNames = CacheConfig.SKILLS, sync = true)
 	public List<SkillResponse> getAllSkills() {
 		log.info("Fetching all skills");
 		List<SkillEntity> list = skillRepo.findAll();
@@ -84,6 +103,11 @@ public class SkillServiceImpl implements SkillService {
 		return list.stream().map(this::mapToResponse).collect(Collectors.toList());
 	}
 
+	@Override
+	public CursorPage<SkillResponse> getSkillsPage(int limit, String after, String orderBy, String direction) {
+		return ORDERS.page(skillRepo, orderBy, direction, limit, after, this::mapToResponse);
+	}
+
 	private SkillResponse mapToResponse(SkillEntity entity) {
 		return SkillResponse.builder().id(entity.getId()).name(entity.getName()).category(entity.getCategory())
 				.proficiency(entity.getProficiency()).build();
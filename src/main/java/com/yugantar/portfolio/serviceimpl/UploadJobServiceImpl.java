@@ -0,0 +1,118 @@
+package com.yugantar.portfolio.serviceimpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import com.yugantar.portfolio.dto.UploadJobStatus;
+import com.yugantar.portfolio.dto.UploadJobStatus.State;
+import com.yugantar.portfolio.exception.ResourceNotFoundException;
+import com.yugantar.portfolio.service.UploadJobService;
+import com.yugantar.portfolio.upload.ChunkedUploadStore;
+import com.yugantar.portfolio.upload.StagedUpload;
+import com.yugantar.portfolio.upload.UploadOutcome;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs upload processing on the bounded uploadExecutor so request threads and
+ * database connections are not held while files are decoded and stored. Job
+ * state is kept in memory for a while after completion so the admin UI can
+ * poll for the result.
+ */
+@Service
+@Slf4j
+public class UploadJobServiceImpl implements UploadJobService {
+
+	private final TaskExecutor uploadExecutor;
+	private final ChunkedUploadStore chunkedUploadStore;
+	private final Duration retention;
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+	public UploadJobServiceImpl(TaskExecutor uploadExecutor, ChunkedUploadStore chunkedUploadStore,
+			@Value("${upload.jobs.retention:1h}") Duration retention) {
+		this.uploadExecutor = uploadExecutor;
+		this.chunkedUploadStore = chunkedUploadStore;
+		this.retention = retention;
+	}
+
+	@Override
+	public UploadJobStatus submit(String purpose, StagedUpload upload,
+			Function<StagedUpload, UploadOutcome> processor) {
+		purgeFinished();
+
+		Job job = new Job(UUID.randomUUID().toString(), purpose, upload.originalFileName(), LocalDateTime.now());
+		jobs.put(job.id, job);
+		try {
+			uploadExecutor.execute(() -> run(job, upload, processor));
+		} catch (TaskRejectedException e) {
+			jobs.remove(job.id);
+			chunkedUploadStore.discard(upload);
+			log.warn("Upload queue is full, rejecting {} upload: {}", purpose, upload.originalFileName());
+			throw e;
+		}
+
+		log.info("Queued {} upload job {} for file: {}", purpose, job.id, upload.originalFileName());
+		return job.toStatus();
+	}
+
+	@Override
+	public UploadJobStatus getStatus(String purpose, String jobId) {
+		Job job = jobs.get(jobId);
+		if (job == null || !job.purpose.equals(purpose)) {
+			throw new ResourceNotFoundException("Upload job not found with ID: " + jobId);
+		}
+		return job.toStatus();
+	}
+
+	private void run(Job job, StagedUpload upload, Function<StagedUpload, UploadOutcome> processor) {
+		job.state = State.PROCESSING;
+		try {
+			UploadOutcome outcome = processor.apply(upload);
+			job.result = outcome;
+			job.state = outcome.isSuccess() ? State.SUCCEEDED : State.FAILED;
+		} catch (RuntimeException e) {
+			log.error("Upload job {} failed", job.id, e);
+			job.state = State.FAILED;
+		} finally {
+			job.finishedDate = LocalDateTime.now();
+			chunkedUploadStore.discard(upload);
+		}
+		log.info("Upload job {} finished: {}", job.id, job.state);
+	}
+
+	private void purgeFinished() {
+		LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+		jobs.values().removeIf(job -> job.finishedDate != null && job.finishedDate.isBefore(cutoff));
+	}
+
+	private static class Job {
+		final String id;
+		final String purpose;
+		final String fileName;
+		final LocalDateTime submittedDate;
+		volatile State state = State.QUEUED;
+		volatile Object result;
+		volatile LocalDateTime finishedDate;
+
+		Job(String id, String purpose, String fileName, LocalDateTime submittedDate) {
+			this.id = id;
+			this.purpose = purpose;
+			this.fileName = fileName;
+			this.submittedDate = submittedDate;
+		}
+
+		UploadJobStatus toStatus() {
+			return UploadJobStatus.builder().jobId(id).state(state).fileName(fileName).submittedDate(submittedDate)
+					.finishedDate(finishedDate).result(result).build();
+		}
+	}
+}
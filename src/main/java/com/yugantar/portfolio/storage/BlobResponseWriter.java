@@ -0,0 +1,300 @@
+package com.yugantar.portfolio.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.yugantar.portfolio.cache.BlobBufferCache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes BlobStore content to HTTP responses without copying it through the
+ * JVM heap. When the blob is a local file and the connector supports it, the
+ * transfer is handed to Tomcat's sendfile; otherwise the file is pushed with
+ * FileChannel.transferTo. Blobs held in the off-heap BlobBufferCache are
+ * written from their direct buffer ahead of both; a miss never waits for the
+ * cache, and Range requests only use entries that are already there.
+ *
+ * Range requests are answered with 206 Partial Content: a single range is sent
+ * straight from its file offset, several ranges as multipart/byteranges. An
+ * If-Range validator that does not match the current ETag falls back to the
+ * full content, as required by RFC 9110.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlobResponseWriter {
+
+	// Request attributes understood by Tomcat's NIO/NIO2/APR connectors
+	private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+	private final BlobStore blobStore;
+	private final BlobBufferCache bufferCache;
+
+	/**
+	 * Build the response for a blob, honouring Range and If-Range
+	 *
+	 * @param key     blob key
+	 * @param etag    strong ETag of the content, used to validate If-Range
+	 * @param headers response headers (content type, disposition, caching)
+	 * @param request current request
+	 * @return response entity to return from the controller
+	 */
+	public ResponseEntity<StreamingResponseBody> write(String key, String etag, HttpHeaders headers,
+			HttpServletRequest request) throws IOException {
+		long size = blobStore.size(key);
+		headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+		String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+		if (rangeHeader == null || !ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+			return full(key, size, headers, request);
+		}
+
+		List<HttpRange> ranges;
+		try {
+			ranges = HttpRange.parseRanges(rangeHeader);
+		} catch (IllegalArgumentException e) {
+			// Malformed Range headers are ignored
+			log.debug("Ignoring invalid Range header: {}", rangeHeader);
+			return full(key, size, headers, request);
+		}
+
+		List<long[]> spans = toSpans(ranges, size);
+		if (spans == null) {
+			headers.remove(HttpHeaders.CONTENT_TYPE);
+			headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+			return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+		}
+
+		if (spans.size() == 1) {
+			return single(key, size, spans.get(0), headers, request);
+		}
+		return multipart(key, size, spans, headers);
+	}
+
+	private ResponseEntity<StreamingResponseBody> full(String key, long size, HttpHeaders headers,
+			HttpServletRequest request) throws IOException {
+		headers.setContentLength(size);
+		if (bufferCache.lookup(key, size, true)) {
+			return ResponseEntity.ok().headers(headers).body(out -> writeCached(key, 0, size, out));
+		}
+		if (trySendfile(key, 0, size, request)) {
+			return ResponseEntity.ok().headers(headers).build();
+		}
+		return ResponseEntity.ok().headers(headers).body(out -> copyRange(key, 0, size, out));
+	}
+
+	private ResponseEntity<StreamingResponseBody> single(String key, long size, long[] span, HttpHeaders headers,
+			HttpServletRequest request) throws IOException {
+		long start = span[0];
+		long count = span[1] - span[0] + 1;
+		headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + span[0] + "-" + span[1] + "/" + size);
+		headers.setContentLength(count);
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers);
+		if (bufferCache.lookup(key, size, false)) {
+			return response.body(out -> writeCached(key, start, count, out));
+		}
+		if (trySendfile(key, start, start + count, request)) {
+			return response.build();
+		}
+		return response.body(out -> copyRange(key, start, count, out));
+	}
+
+	private ResponseEntity<StreamingResponseBody> multipart(String key, long size, List<long[]> spans,
+			HttpHeaders headers) {
+		boolean cached = bufferCache.lookup(key, size, false);
+		String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+		MediaType partType = headers.getContentType() != null ? headers.getContentType()
+				: MediaType.APPLICATION_OCTET_STREAM;
+
+		List<byte[]> partHeaders = new ArrayList<>(spans.size());
+		long contentLength = 0;
+		for (long[] span : spans) {
+			byte[] partHeader = ("\r\n--" + boundary + "\r\n" + HttpHeaders.CONTENT_TYPE + ": " + partType + "\r\n"
+					+ HttpHeaders.CONTENT_RANGE + ": bytes " + span[0] + "-" + span[1] + "/" + size + "\r\n\r\n")
+					.getBytes(StandardCharsets.US_ASCII);
+			partHeaders.add(partHeader);
+			contentLength += partHeader.length + span[1] - span[0] + 1;
+		}
+		byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+		contentLength += closing.length;
+
+		headers.setContentType(MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary));
+		headers.setContentLength(contentLength);
+
+		return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(out -> {
+			for (int i = 0; i < spans.size(); i++) {
+				long[] span = spans.get(i);
+				out.write(partHeaders.get(i));
+				if (cached) {
+					writeCached(key, span[0], span[1] - span[0] + 1, out);
+				} else {
+					copyRange(key, span[0], span[1] - span[0] + 1, out);
+				}
+			}
+			out.write(closing);
+		});
+	}
+
+	/**
+	 * Resolve ranges against the blob size. Overlapping or adjacent ranges are
+	 * coalesced, so the response never carries more bytes than the blob however
+	 * many ranges repeat the same bytes.
+	 *
+	 * @return inclusive [start, end] pairs in ascending order, or null if none of
+	 *         the ranges can be satisfied
+	 */
+	private static List<long[]> toSpans(List<HttpRange> ranges, long size) {
+		List<long[]> requested = new ArrayList<>(ranges.size());
+		for (HttpRange range : ranges) {
+			long start;
+			long end;
+			try {
+				start = range.getRangeStart(size);
+				end = range.getRangeEnd(size);
+			} catch (IllegalArgumentException e) {
+				continue; // unsatisfiable range, e.g. starting past the end
+			}
+			if (start > end) {
+				continue;
+			}
+			requested.add(new long[] { start, end });
+		}
+		if (requested.isEmpty()) {
+			return null;
+		}
+
+		requested.sort(Comparator.comparingLong(span -> span[0]));
+		List<long[]> spans = new ArrayList<>(requested.size());
+		long[] last = null;
+		for (long[] span : requested) {
+			if (last != null && span[0] <= last[1] + 1) {
+				last[1] = Math.max(last[1], span[1]);
+			} else {
+				last = span;
+				spans.add(span);
+			}
+		}
+		return spans;
+	}
+
+	/**
+	 * If-Range uses strong comparison; a date or weak validator never matches
+	 * because these responses carry no Last-Modified
+	 */
+	private static boolean ifRangeMatches(String ifRange, String etag) {
+		if (ifRange == null) {
+			return true;
+		}
+		return etag != null && !ifRange.startsWith("W/") && ifRange.trim().equals(etag);
+	}
+
+	private boolean trySendfile(String key, long start, long end, HttpServletRequest request) {
+		Optional<Path> file = blobStore.localPath(key);
+		if (file.isEmpty() || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+			return false;
+		}
+		request.setAttribute(SENDFILE_FILENAME_ATTR, file.get().toString());
+		request.setAttribute(SENDFILE_START_ATTR, start);
+		request.setAttribute(SENDFILE_END_ATTR, end);
+		return true;
+	}
+
+	/**
+	 * Copy part of a blob to the output, reading from the requested offset
+	 * rather than from the start of the content
+	 */
+	private void copyRange(String key, long position, long count, OutputStream out) throws IOException {
+		Optional<Path> file = blobStore.localPath(key);
+		if (file.isPresent()) {
+			try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+				transfer(channel, position, count, Channels.newChannel(out));
+			}
+			return;
+		}
+
+		try (InputStream in = blobStore.open(key)) {
+			in.skipNBytes(position);
+			byte[] buffer = new byte[8192];
+			long remaining = count;
+			while (remaining > 0) {
+				int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read < 0) {
+					throw new IOException("Blob ended before " + count + " bytes were copied");
+				}
+				out.write(buffer, 0, read);
+				remaining -= read;
+			}
+		}
+	}
+
+	/**
+	 * Write part of a cached blob, holding a lease so the buffer is not freed
+	 * underneath the write. Falls back to the BlobStore if the entry was evicted
+	 * since the lookup.
+	 */
+	private void writeCached(String key, long position, long count, OutputStream out) throws IOException {
+		try (BlobBufferCache.Lease lease = bufferCache.lease(key)) {
+			if (lease != null) {
+				writeBuffer(lease.buffer().slice((int) position, (int) count), out);
+				return;
+			}
+		}
+		copyRange(key, position, count, out);
+	}
+
+	/**
+	 * Write a cached buffer. Tomcat's output stream takes the ByteBuffer as is;
+	 * any other stream gets it through a channel adapter.
+	 */
+	private static void writeBuffer(ByteBuffer buffer, OutputStream out) throws IOException {
+		if (out instanceof CoyoteOutputStream coyote) {
+			coyote.write(buffer);
+			return;
+		}
+		WritableByteChannel channel = Channels.newChannel(out);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+			throws IOException {
+		long end = position + count;
+		while (position < end) {
+			long sent = channel.transferTo(position, end - position, target);
+			if (sent <= 0) {
+				throw new IOException("Blob ended before " + end + " bytes were transferred");
+			}
+			position += sent;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package com.yugantar.portfolio.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Content-addressed storage for uploaded binary assets. Keys are the lowercase
+ * hex SHA-256 of the stored bytes, so storing the same content twice yields the
+ * same key and a single copy.
+ */
+public interface BlobStore {
+
+	/**
+	 * Store the content of the stream
+	 * 
+	 * @param content stream to read, not closed by the store
+	 * @return key and size of the stored blob
+	 */
+	StoredBlob put(InputStream content) throws IOException;
+
+	/**
+	 * Store a file whose SHA-256 is already known, e.g. hashed while it was
+	 * received. The store may move the file instead of copying it.
+	 * 
+	 * @param file file to store
+	 * @param key  lowercase hex SHA-256 of the file
+	 * @return key and size of the stored blob
+	 */
+	default StoredBlob putFile(Path file, String key) throws IOException {
+		StoredBlob blob;
+		try (InputStream in = Files.newInputStream(file)) {
+			blob = put(in);
+		}
+		if (!blob.key().equals(key)) {
+			throw new IOException("Content hash mismatch, expected " + key + " but stored " + blob.key());
+		}
+		return blob;
+	}
+
+	/**
+	 * Check whether a blob exists
+	 * 
+	 * @param key blob key
+	 * @return true if the blob exists
+	 */
+	boolean exists(String key);
+
+	/**
+	 * Get the size of a blob in bytes
+	 * 
+	 * @param key blob key
+	 * @return size in bytes
+	 */
+	long size(String key) throws IOException;
+
+	/**
+	 * Open a blob for reading
+	 * 
+	 * @param key blob key
+	 * @return stream over the blob content
+	 */
+	InputStream open(String key) throws IOException;
+
+	/**
+	 * Get the local file backing a blob, for zero-copy serving
+	 * 
+	 * @param key blob key
+	 * @return path of the file, or empty if the store is not file-backed
+	 */
+	Optional<Path> localPath(String key);
+
+	/**
+	 * Delete a blob, ignoring missing keys
+	 * 
+	 * @param key blob key
+	 */
+	void delete(String key) throws IOException;
+
+	/**
+	 * Delete a blob once the current transaction commits, or immediately when no
+	 * transaction is active, so a rollback never leaves a row pointing at missing
+	 * content
+	 * 
+	 * @param key blob key
+	 */
+	default void deleteAfterCommit(String key) {
+		Runnable delete = () -> {
+			try {
+				delete(key);
+			} catch (IOException e) {
+				LoggerFactory.getLogger(BlobStore.class).warn("Failed to delete blob: {}", key, e);
+			}
+		};
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			delete.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				delete.run();
+			}
+		});
+	}
+
+	/**
+	 * Delete a blob once the current transaction rolls back, if this call
+	 * created it, so a failed upload leaves no content behind that no row
+	 * references. A blob that existed already may be shared with committed rows
+	 * and is kept. Does nothing when no transaction is active.
+	 * 
+	 * @param blob result of put or putFile in the current transaction
+	 */
+	default void deleteAfterRollback(StoredBlob blob) {
+		if (!blob.created() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_ROLLED_BACK) {
+					return;
+				}
+				try {
+					delete(blob.key());
+				} catch (IOException e) {
+					LoggerFactory.getLogger(BlobStore.class).warn("Failed to delete blob: {}", blob.key(), e);
+				}
+			}
+		});
+	}
+
+	/**
+	 * @param created whether the content was written by this call rather than
+	 *                found already stored
+	 */
+	record StoredBlob(String key, long size, boolean created) {
+	}
+}
@@ -0,0 +1,124 @@
+package com.yugantar.portfolio.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.yugantar.portfolio.repository.ProfilePhotoRepository;
+import com.yugantar.portfolio.repository.ResumeRepository;
+import com.yugantar.portfolio.storage.BlobStore.StoredBlob;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-time migration of resume and profile photo content from the old LONGBLOB
+ * columns into the BlobStore. Runs once all beans are created, which is after
+ * Hibernate has added the content_hash columns and before the web server starts
+ * taking requests. Once every row of a table has been copied the old column is
+ * dropped, so later startups skip the table.
+ *
+ * The content is paged out in chunks, one query each. All of a row's chunks
+ * are read in one read-only REPEATABLE READ transaction, so they come from the
+ * same snapshot and a row updated mid-copy cannot be stored torn.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyBlobMigration implements SmartInitializingSingleton {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final BlobStore blobStore;
+	private final ResumeRepository resumeRepository;
+	private final ProfilePhotoRepository profilePhotoRepository;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		migrate("resumes", "file_data", resumeRepository::openFileDataStream);
+		migrate("profile_photos", "image_data", profilePhotoRepository::openImageDataStream);
+	}
+
+	private void migrate(String table, String column, Function<Long, Optional<InputStream>> opener) {
+		if (!columnExists(table, column)) {
+			return;
+		}
+
+		// New rows no longer write the column, so it must accept NULL even if some rows fail to migrate
+		jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY " + column + " LONGBLOB NULL");
+
+		List<Long> ids = jdbcTemplate.queryForList(
+				"SELECT id FROM " + table + " WHERE content_hash IS NULL AND " + column + " IS NOT NULL", Long.class);
+		log.info("Migrating {} rows of {}.{} to the blob store", ids.size(), table, column);
+
+		TransactionTemplate snapshotRead = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		snapshotRead.setReadOnly(true);
+		snapshotRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+		int failures = 0;
+		for (Long id : ids) {
+			try {
+				StoredBlob blob;
+				try {
+					blob = snapshotRead.execute(status -> copy(opener, id));
+				} catch (UncheckedIOException e) {
+					throw e.getCause();
+				}
+				if (blob == null) {
+					continue;
+				}
+
+				transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+						"UPDATE " + table + " SET content_hash = ?, file_size = ? WHERE id = ?", blob.key(),
+						blob.size(), id));
+				log.debug("Migrated {} ID {} to blob {}", table, id, blob.key());
+			} catch (IOException | DataAccessException e) {
+				failures++;
+				log.error("Failed to migrate {} ID {} to the blob store", table, id, e);
+			}
+		}
+
+		if (failures > 0) {
+			log.error("{} rows of {} could not be migrated; keeping column {} for the next startup", failures, table,
+					column);
+			return;
+		}
+
+		jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + column);
+		log.info("Migration of {}.{} complete, column dropped", table, column);
+	}
+
+	/**
+	 * Copy the content of one row to the blob store
+	 *
+	 * @return stored blob, or null if the row has no content
+	 */
+	private StoredBlob copy(Function<Long, Optional<InputStream>> opener, Long id) {
+		Optional<InputStream> content = opener.apply(id);
+		if (content.isEmpty()) {
+			return null;
+		}
+		try (InputStream in = content.get()) {
+			return blobStore.put(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private boolean columnExists(String table, String column) {
+		Integer count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+				Integer.class, table, column);
+		return count != null && count > 0;
+	}
+}
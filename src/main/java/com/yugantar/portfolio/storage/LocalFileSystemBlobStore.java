@@ -0,0 +1,150 @@
+package com.yugantar.portfolio.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * BlobStore keeping each blob in a file named by its SHA-256 under the
+ * configured root, fanned out by the first two bytes of the hash
+ * (root/ab/cd/abcd...). Content is written to a temp file first and moved into
+ * place, so readers never see a partial blob.
+ */
+@Component
+@Slf4j
+public class LocalFileSystemBlobStore implements BlobStore {
+
+	private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+	private final Path root;
+	private final Path tempDir;
+
+	public LocalFileSystemBlobStore(@Value("${storage.local.root-dir}") String rootDir) throws IOException {
+		this.root = Paths.get(rootDir).toAbsolutePath().normalize();
+		this.tempDir = root.resolve("tmp");
+		Files.createDirectories(tempDir);
+		log.info("Local blob store initialized at: {}", root);
+	}
+
+	@Override
+	public StoredBlob put(InputStream content) throws IOException {
+		Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+		try {
+			MessageDigest digest = sha256();
+			long size;
+			try (DigestInputStream in = new DigestInputStream(content, digest);
+					OutputStream out = Files.newOutputStream(temp)) {
+				size = in.transferTo(out);
+			}
+
+			String key = HexFormat.of().formatHex(digest.digest());
+			Path target = resolve(key);
+			if (Files.exists(target)) {
+				log.debug("Blob already stored: {}", key);
+				return new StoredBlob(key, size, false);
+			}
+
+			boolean created = moveIntoPlace(temp, target);
+			log.debug("Stored blob {} ({} bytes)", key, size);
+			return new StoredBlob(key, size, created);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public StoredBlob putFile(Path file, String key) throws IOException {
+		Path target = resolve(key);
+		long size = Files.size(file);
+		if (Files.exists(target)) {
+			log.debug("Blob already stored: {}", key);
+			return new StoredBlob(key, size, false);
+		}
+
+		// Stage next to the target first so the final move is atomic even when
+		// the source is on another file system
+		Path temp = Files.createTempFile(tempDir, "import-", ".part");
+		try {
+			Files.move(file, temp, StandardCopyOption.REPLACE_EXISTING);
+			boolean created = moveIntoPlace(temp, target);
+			log.debug("Stored blob {} from file ({} bytes)", key, size);
+			return new StoredBlob(key, size, created);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public boolean exists(String key) {
+		return Files.isRegularFile(resolve(key));
+	}
+
+	@Override
+	public long size(String key) throws IOException {
+		return Files.size(resolve(key));
+	}
+
+	@Override
+	public InputStream open(String key) throws IOException {
+		return Files.newInputStream(resolve(key));
+	}
+
+	@Override
+	public Optional<Path> localPath(String key) {
+		return Optional.of(resolve(key));
+	}
+
+	@Override
+	public void delete(String key) throws IOException {
+		if (Files.deleteIfExists(resolve(key))) {
+			log.debug("Deleted blob: {}", key);
+		}
+	}
+
+	/**
+	 * @return false if another upload of the same content stored it first
+	 */
+	private static boolean moveIntoPlace(Path temp, Path target) throws IOException {
+		Files.createDirectories(target.getParent());
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target);
+		} catch (FileAlreadyExistsException e) {
+			return false;
+		}
+		return true;
+	}
+
+	private Path resolve(String key) {
+		if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+			throw new IllegalArgumentException("Invalid blob key: " + key);
+		}
+		return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
@@ -0,0 +1,337 @@
+package com.yugantar.portfolio.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.yugantar.portfolio.dto.ChunkedUploadStatus;
+import com.yugantar.portfolio.exception.ResourceNotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Temp storage for resumable uploads sent as a sequence of fixed-size chunks.
+ * Each chunk is streamed from the request into a temp file of its own, so no
+ * more than a small copy buffer is held in memory regardless of file size,
+ * and then appended to the session's temp file. Only the append holds the
+ * session lock, so a slow client cannot block status, abort or a retry of
+ * the same chunk. A chunk that fails half way is dropped, and the client
+ * resumes by asking for the status and re-sending from nextChunk.
+ *
+ * Sessions live in memory and are dropped, with their temp files, by a
+ * periodic sweep after a period of inactivity. Single-request uploads that
+ * are processed in the background are spooled here too.
+ */
+@Component
+@Slf4j
+public class ChunkedUploadStore {
+
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	private final Path tempDir;
+	private final int chunkSize;
+	private final Duration sessionTimeout;
+	private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+	public ChunkedUploadStore(@Value("${storage.upload.temp-dir}") String tempDir,
+			@Value("${upload.chunked.chunk-size:1MB}") DataSize chunkSize,
+			@Value("${upload.chunked.session-timeout:1h}") Duration sessionTimeout) throws IOException {
+		this.tempDir = Paths.get(tempDir).toAbsolutePath().normalize();
+		this.chunkSize = (int) chunkSize.toBytes();
+		this.sessionTimeout = sessionTimeout;
+		Files.createDirectories(this.tempDir);
+		purgeOrphanedFiles();
+	}
+
+	/**
+	 * Start a new upload
+	 * 
+	 * @param purpose          what the upload is for, checked again on every call
+	 * @param originalFileName client file name
+	 * @param contentType      client content type
+	 * @param totalSize        total size in bytes
+	 * @return initial status, including the chunk size to use
+	 */
+	public ChunkedUploadStatus create(String purpose, String originalFileName, String contentType, long totalSize)
+			throws IOException {
+		String id = UUID.randomUUID().toString();
+		Path file = tempDir.resolve(id + ".part");
+		Files.createFile(file);
+
+		UploadSession session = new UploadSession(id, purpose, StringUtils.cleanPath(originalFileName), contentType,
+				totalSize, chunkSize, file, sha256());
+		sessions.put(id, session);
+		log.info("Started chunked {} upload {} for file: {} ({} bytes, {} chunks)", purpose, id, originalFileName,
+				totalSize, session.totalChunks());
+		return toStatus(session);
+	}
+
+	/**
+	 * Get the current status of an upload
+	 */
+	public ChunkedUploadStatus status(String purpose, String uploadId) {
+		UploadSession session = find(purpose, uploadId);
+		synchronized (session) {
+			return toStatus(session);
+		}
+	}
+
+	/**
+	 * Append one chunk. Re-sending a chunk that was already stored is accepted
+	 * and ignored, so retries after a lost response are safe.
+	 * 
+	 * @param index         0-based chunk index
+	 * @param content       request body
+	 * @param contentLength declared body length, -1 if unknown
+	 * @return status after the chunk was stored
+	 */
+	public ChunkedUploadStatus writeChunk(String purpose, String uploadId, int index, InputStream content,
+			long contentLength) throws IOException {
+		UploadSession session = find(purpose, uploadId);
+		long expected;
+		MessageDigest digest;
+		synchronized (session) {
+			session.lastActivity = Instant.now();
+			int next = session.nextChunk();
+			if (index < next) {
+				log.debug("Chunk {} of upload {} already received", index, uploadId);
+				return toStatus(session);
+			}
+			if (index != next || index >= session.totalChunks()) {
+				throw new IllegalArgumentException("Unexpected chunk " + index + ", next expected chunk is " + next);
+			}
+
+			expected = session.expectedLength(index);
+			if (contentLength >= 0 && contentLength != expected) {
+				throw new IllegalArgumentException(
+						"Chunk " + index + " must be exactly " + expected + " bytes, got " + contentLength);
+			}
+			digest = cloneDigest(session.digest);
+		}
+
+		// The body is read without the lock; the digest copy stays valid because
+		// only this chunk index can be appended next
+		Path chunk = tempDir.resolve(uploadId + "-" + index + "-" + UUID.randomUUID() + ".part");
+		try {
+			spool(content, chunk, expected, digest);
+			synchronized (session) {
+				if (sessions.get(uploadId) != session) {
+					throw new ResourceNotFoundException("Upload not found with ID: " + uploadId);
+				}
+				session.lastActivity = Instant.now();
+				if (session.nextChunk() == index) {
+					append(session, chunk, expected, digest);
+				} else {
+					log.debug("Chunk {} of upload {} was stored by a concurrent request", index, uploadId);
+				}
+				return toStatus(session);
+			}
+		} finally {
+			deleteQuietly(chunk);
+		}
+	}
+
+	/**
+	 * Finish an upload once every chunk has been received. The session is
+	 * removed; the caller owns the returned temp file and must call
+	 * {@link #discard(StagedUpload)} when done with it.
+	 */
+	public StagedUpload complete(String purpose, String uploadId) {
+		UploadSession session = find(purpose, uploadId);
+		synchronized (session) {
+			if (!session.isComplete()) {
+				throw new IllegalArgumentException("Upload is incomplete, next expected chunk is "
+						+ session.nextChunk() + " of " + session.totalChunks());
+			}
+			sessions.remove(uploadId);
+			String sha256 = HexFormat.of().formatHex(session.digest.digest());
+			log.info("Completed chunked upload {} ({} bytes, sha256 {})", uploadId, session.getReceivedBytes(),
+					sha256);
+			return new StagedUpload(session.getOriginalFileName(), session.getContentType(),
+					session.getReceivedBytes(), sha256, session.getFile());
+		}
+	}
+
+	/**
+	 * Abort an upload and delete what was received
+	 */
+	public void abort(String purpose, String uploadId) {
+		UploadSession session = find(purpose, uploadId);
+		synchronized (session) {
+			sessions.remove(uploadId);
+			deleteQuietly(session.getFile());
+			log.info("Aborted chunked upload {}", uploadId);
+		}
+	}
+
+	/**
+	 * Spool a single-request upload to temp storage, hashing it on the way, so it
+	 * can be processed later like a completed chunked upload
+	 * 
+	 * @param originalFileName client file name
+	 * @param contentType      client content type
+	 * @param content          upload content, not closed
+	 * @return staged upload owned by the caller
+	 */
+	public StagedUpload stage(String originalFileName, String contentType, InputStream content) throws IOException {
+		Path file = tempDir.resolve(UUID.randomUUID() + ".part");
+		MessageDigest digest = sha256();
+		long size;
+		try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE_NEW)) {
+			size = new DigestInputStream(content, digest).transferTo(out);
+		} catch (IOException | RuntimeException e) {
+			deleteQuietly(file);
+			throw e;
+		}
+		return new StagedUpload(StringUtils.cleanPath(originalFileName), contentType, size,
+				HexFormat.of().formatHex(digest.digest()), file);
+	}
+
+	/**
+	 * Delete the temp file of a completed upload, if it is still there
+	 */
+	public void discard(StagedUpload upload) {
+		deleteQuietly(upload.file());
+	}
+
+	/**
+	 * Copy exactly the expected number of bytes of a chunk to its own temp file,
+	 * updating the digest as they are written
+	 */
+	private void spool(InputStream content, Path chunk, long expected, MessageDigest digest) throws IOException {
+		try (FileChannel channel = FileChannel.open(chunk, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+			byte[] buffer = new byte[COPY_BUFFER_SIZE];
+			long remaining = expected;
+			while (remaining > 0) {
+				int read = content.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read < 0) {
+					throw new IllegalArgumentException("Chunk ended after " + (expected - remaining) + " of "
+							+ expected + " bytes");
+				}
+				digest.update(buffer, 0, read);
+				ByteBuffer src = ByteBuffer.wrap(buffer, 0, read);
+				while (src.hasRemaining()) {
+					channel.write(src);
+				}
+				remaining -= read;
+			}
+			if (content.read() >= 0) {
+				throw new IllegalArgumentException("Chunk is larger than " + expected + " bytes");
+			}
+		}
+	}
+
+	/**
+	 * Append a spooled chunk to the session file. On any failure the file is
+	 * restored to the end of the previous chunk and the digest is left as it was.
+	 */
+	private void append(UploadSession session, Path chunk, long expected, MessageDigest digest) throws IOException {
+		long start = session.receivedBytes;
+		try (FileChannel in = FileChannel.open(chunk, StandardOpenOption.READ);
+				FileChannel channel = FileChannel.open(session.getFile(), StandardOpenOption.WRITE)) {
+			long copied = 0;
+			while (copied < expected) {
+				copied += channel.transferFrom(in, start + copied, expected - copied);
+			}
+			channel.force(false);
+		} catch (IOException | RuntimeException e) {
+			try (FileChannel channel = FileChannel.open(session.getFile(), StandardOpenOption.WRITE)) {
+				channel.truncate(start);
+			}
+			throw e;
+		}
+
+		session.digest = digest;
+		session.receivedBytes = start + expected;
+	}
+
+	private UploadSession find(String purpose, String uploadId) {
+		UploadSession session = sessions.get(uploadId);
+		if (session == null || !session.getPurpose().equals(purpose)) {
+			throw new ResourceNotFoundException("Upload not found with ID: " + uploadId);
+		}
+		return session;
+	}
+
+	/**
+	 * Drop sessions that saw no activity for the session timeout, whether or not
+	 * new uploads are being started
+	 */
+	@Scheduled(fixedDelayString = "${upload.chunked.purge-interval:5m}")
+	void purgeExpired() {
+		Instant cutoff = Instant.now().minus(sessionTimeout);
+		sessions.values().removeIf(session -> {
+			synchronized (session) {
+				if (session.getLastActivity().isAfter(cutoff)) {
+					return false;
+				}
+				log.info("Dropping expired chunked upload {}", session.getId());
+				deleteQuietly(session.getFile());
+				return true;
+			}
+		});
+	}
+
+	/**
+	 * Sessions do not survive a restart, so files left by a previous run are
+	 * unreachable
+	 */
+	private void purgeOrphanedFiles() throws IOException {
+		try (Stream<Path> files = Files.list(tempDir)) {
+			files.filter(file -> file.getFileName().toString().endsWith(".part")).forEach(this::deleteQuietly);
+		}
+	}
+
+	private void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Failed to delete upload temp file: {}", file, e);
+		}
+	}
+
+	private static ChunkedUploadStatus toStatus(UploadSession session) {
+		return ChunkedUploadStatus.builder().uploadId(session.getId()).fileName(session.getOriginalFileName())
+				.fileSize(session.getTotalSize()).chunkSize(session.getChunkSize())
+				.totalChunks(session.totalChunks()).nextChunk(session.nextChunk())
+				.receivedBytes(session.getReceivedBytes()).complete(session.isComplete()).build();
+	}
+
+	private static MessageDigest cloneDigest(MessageDigest digest) {
+		try {
+			return (MessageDigest) digest.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+		}
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
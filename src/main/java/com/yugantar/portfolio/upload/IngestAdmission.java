@@ -0,0 +1,136 @@
+package com.yugantar.portfolio.upload;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.yugantar.portfolio.exception.IngestRejectedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission control for upload processing. Each ingest reserves its estimated
+ * memory cost from a shared budget for as long as it runs, so concurrent
+ * uploads cannot together decode more than the heap can hold.
+ *
+ * Request threads wait briefly for room and are then rejected, which the
+ * exception handler turns into 503 with Retry-After. Background work such as
+ * upload jobs and thumbnail rendering is already bounded by its executor and
+ * waits much longer instead of failing.
+ */
+@Component
+@Slf4j
+public class IngestAdmission {
+
+	// Multipart parsing, copy buffers and the digest of a streamed file
+	public static final long STREAMING_COST = 256 * 1024;
+
+	// Budget is tracked in KiB so it fits a semaphore's int permits
+	private static final int UNIT = 1024;
+
+	private final Semaphore budget;
+	private final int budgetUnits;
+	private final Duration maxWait;
+	private final Duration backgroundMaxWait;
+	private final long retryAfterSeconds;
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final Counter admitted;
+	private final Counter rejected;
+
+	public IngestAdmission(MeterRegistry meterRegistry,
+			@Value("${upload.admission.memory-budget:96MB}") DataSize memoryBudget,
+			@Value("${upload.admission.max-wait:2s}") Duration maxWait,
+			@Value("${upload.admission.background-max-wait:5m}") Duration backgroundMaxWait,
+			@Value("${upload.admission.retry-after:10s}") Duration retryAfter) {
+		this.budgetUnits = (int) Math.max(1, memoryBudget.toBytes() / UNIT);
+		this.budget = new Semaphore(budgetUnits, true);
+		this.maxWait = maxWait;
+		this.backgroundMaxWait = backgroundMaxWait;
+		this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+		this.admitted = Counter.builder("upload.admission.admitted").register(meterRegistry);
+		this.rejected = Counter.builder("upload.admission.rejected").register(meterRegistry);
+		Gauge.builder("upload.admission.used", this, IngestAdmission::usedBytes).baseUnit("bytes")
+				.register(meterRegistry);
+		Gauge.builder("upload.admission.budget", this, admission -> (double) admission.budgetUnits * UNIT)
+				.baseUnit("bytes").register(meterRegistry);
+		Gauge.builder("upload.admission.waiting", waiting, AtomicInteger::get).register(meterRegistry);
+	}
+
+	/**
+	 * Reserve memory for an ingest, waiting for room if the budget is in use
+	 *
+	 * @param costBytes estimated peak memory of the ingest; anything above the
+	 *                  whole budget is admitted on its own
+	 * @return permit to close when the ingest is done
+	 * @throws IngestRejectedException if no room became available in time
+	 */
+	public Permit acquire(long costBytes) {
+		int units = (int) Math.min(budgetUnits, Math.max(1, (costBytes + UNIT - 1) / UNIT));
+		Duration wait = RequestContextHolder.getRequestAttributes() != null ? maxWait : backgroundMaxWait;
+
+		waiting.incrementAndGet();
+		boolean acquired;
+		try {
+			acquired = budget.tryAcquire(units, wait.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			acquired = false;
+		} finally {
+			waiting.decrementAndGet();
+		}
+
+		if (!acquired) {
+			rejected.increment();
+			log.warn("Upload rejected, {} KiB needed but only {} of {} KiB free", units, budget.availablePermits(),
+					budgetUnits);
+			throw new IngestRejectedException("Server is busy processing other uploads. Please retry shortly.",
+					retryAfterSeconds);
+		}
+		admitted.increment();
+		return new Permit(units);
+	}
+
+	/**
+	 * Estimated peak memory to decode an image, re-encode it and scale it down:
+	 * the full raster at 4 bytes per pixel, an upright copy when it has to be
+	 * rotated, the first half-size step, and the file
+	 */
+	public static long imageCost(long fileSize, int width, int height, boolean rotated) {
+		long raster = 4L * width * height;
+		return STREAMING_COST + fileSize + (rotated ? 2 : 1) * raster + raster / 4;
+	}
+
+	private double usedBytes() {
+		return (double) (budgetUnits - budget.availablePermits()) * UNIT;
+	}
+
+	/**
+	 * Reserved share of the budget, released on close
+	 */
+	public final class Permit implements AutoCloseable {
+
+		private int units;
+
+		private Permit(int units) {
+			this.units = units;
+		}
+
+		@Override
+		public void close() {
+			if (units > 0) {
+				budget.release(units);
+				units = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package com.yugantar.portfolio.upload;
+
+import java.nio.file.Path;
+
+/**
+ * A fully received upload waiting in temp storage to be committed
+ * 
+ * @param originalFileName file name given by the client
+ * @param contentType      content type given by the client
+ * @param size             received size in bytes
+ * @param sha256           lowercase hex SHA-256 of the received bytes
+ * @param file             temp file holding the content
+ */
+public record StagedUpload(String originalFileName, String contentType, long size, String sha256, Path file) {
+}
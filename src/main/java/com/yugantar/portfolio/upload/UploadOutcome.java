@@ -0,0 +1,9 @@
+package com.yugantar.portfolio.upload;
+
+/**
+ * Result of processing an upload, as returned by the upload services
+ */
+public interface UploadOutcome {
+
+	boolean isSuccess();
+}
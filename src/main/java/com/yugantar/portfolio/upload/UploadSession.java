@@ -0,0 +1,56 @@
+package com.yugantar.portfolio.upload;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+
+import lombok.Getter;
+
+/**
+ * State of one chunked upload. Chunks are appended in order, so the SHA-256 is
+ * updated as bytes arrive and never needs a second pass over the file.
+ */
+@Getter
+class UploadSession {
+
+	private final String id;
+	private final String purpose;
+	private final String originalFileName;
+	private final String contentType;
+	private final long totalSize;
+	private final int chunkSize;
+	private final Path file;
+
+	MessageDigest digest;
+	long receivedBytes;
+	volatile Instant lastActivity;
+
+	UploadSession(String id, String purpose, String originalFileName, String contentType, long totalSize,
+			int chunkSize, Path file, MessageDigest digest) {
+		this.id = id;
+		this.purpose = purpose;
+		this.originalFileName = originalFileName;
+		this.contentType = contentType;
+		this.totalSize = totalSize;
+		this.chunkSize = chunkSize;
+		this.file = file;
+		this.digest = digest;
+		this.lastActivity = Instant.now();
+	}
+
+	int totalChunks() {
+		return (int) Math.max(1, (totalSize + chunkSize - 1) / chunkSize);
+	}
+
+	int nextChunk() {
+		return isComplete() ? totalChunks() : (int) (receivedBytes / chunkSize);
+	}
+
+	long expectedLength(int index) {
+		return Math.min(chunkSize, totalSize - (long) index * chunkSize);
+	}
+
+	boolean isComplete() {
+		return receivedBytes == totalSize;
+	}
+}
@@ -0,0 +1,70 @@
+package com.yugantar.portfolio.validation;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A set of inclusive date ranges that answers "does anything overlap [start,
+ * end]?" in O(log n). The ranges held may overlap each other, e.g. legacy rows
+ * stored before overlaps were checked.
+ *
+ * A range [s, e] overlaps the query exactly when s is on or before the query
+ * end and e is on or after the query start, so the check only needs the
+ * latest end among the ranges starting on or before the query end. The
+ * red-black tree keeps just the ranges that raise that running maximum: ordered
+ * by start, their ends strictly increase, and the floor entry of the query end
+ * carries the maximum. A range whose end is covered by an earlier-starting one
+ * can never be the answer and is dropped; amortised, an add is O(log n).
+ *
+ * @param <T> what each range belongs to, reported back on an overlap
+ */
+public final class DateRangeIndex<T> {
+
+	private final TreeMap<LocalDate, Range<T>> byStart = new TreeMap<>();
+
+	/**
+	 * Find a held range overlapping [start, end]
+	 *
+	 * @return the owner of an overlapping range, or null if there is none
+	 */
+	public T findOverlap(LocalDate start, LocalDate end) {
+		Map.Entry<LocalDate, Range<T>> floor = byStart.floorEntry(end);
+		if (floor == null || floor.getValue().end().isBefore(start)) {
+			return null;
+		}
+		return floor.getValue().owner();
+	}
+
+	/**
+	 * Add [start, end], whether or not it overlaps a range already held
+	 */
+	public void add(LocalDate start, LocalDate end, T owner) {
+		Map.Entry<LocalDate, Range<T>> floor = byStart.floorEntry(start);
+		if (floor != null && !floor.getValue().end().isBefore(end)) {
+			return; // an earlier range already reaches at least as far
+		}
+		Iterator<Range<T>> later = byStart.tailMap(start, true).values().iterator();
+		while (later.hasNext() && !later.next().end().isAfter(end)) {
+			later.remove();
+		}
+		byStart.put(start, new Range<>(end, owner));
+	}
+
+	/**
+	 * Add [start, end] unless it overlaps a range already held
+	 *
+	 * @return the owner of an overlapping range, or null if the range was added
+	 */
+	public T addIfDisjoint(LocalDate start, LocalDate end, T owner) {
+		T overlap = findOverlap(start, end);
+		if (overlap == null) {
+			add(start, end, owner);
+		}
+		return overlap;
+	}
+
+	private record Range<T>(LocalDate end, T owner) {
+	}
+}
@@ -0,0 +1,36 @@
+package com.yugantar.portfolio.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class GenerationKeyedCacheTest {
+
+	private final GenerationKeyedCache cache = new GenerationKeyedCache(new ConcurrentMapCache("skills"));
+
+	@Test
+	void loadFinishingAfterClearIsNotServed() {
+		List<String> loaded = cache.get("all", () -> {
+			// A write commits and clears the cache while this load is running
+			cache.clear();
+			return List.of("read before the commit");
+		});
+
+		assertEquals(List.of("read before the commit"), loaded);
+		assertNull(cache.get("all"));
+		assertEquals(List.of("fresh"), cache.get("all", () -> List.of("fresh")));
+	}
+
+	@Test
+	void entriesSurviveUntilCleared() {
+		cache.put("all", List.of("a"));
+		assertEquals(List.of("a"), cache.get("all", List.class));
+
+		cache.clear();
+		assertNull(cache.get("all"));
+	}
+}
@@ -0,0 +1,39 @@
+package com.yugantar.portfolio.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SnapshotResponsesTest {
+
+	@Test
+	void gzipIsAcceptedWhenListed() {
+		assertTrue(SnapshotResponses.acceptsGzip("gzip"));
+		assertTrue(SnapshotResponses.acceptsGzip("deflate, GZIP;q=0.5, br"));
+		assertTrue(SnapshotResponses.acceptsGzip("br, *"));
+	}
+
+	@Test
+	void gzipIsRefusedWhenMissing() {
+		assertFalse(SnapshotResponses.acceptsGzip(null));
+		assertFalse(SnapshotResponses.acceptsGzip(""));
+		assertFalse(SnapshotResponses.acceptsGzip("identity, br"));
+		assertFalse(SnapshotResponses.acceptsGzip("x-gzipped"));
+	}
+
+	@Test
+	void zeroQualityRefusesGzip() {
+		assertFalse(SnapshotResponses.acceptsGzip("gzip;q=0"));
+		assertFalse(SnapshotResponses.acceptsGzip("gzip; q=0.000"));
+		assertFalse(SnapshotResponses.acceptsGzip("*;q=0"));
+		assertFalse(SnapshotResponses.acceptsGzip("gzip;q=abc"));
+	}
+
+	@Test
+	void explicitGzipEntryOverridesWildcard() {
+		assertFalse(SnapshotResponses.acceptsGzip("gzip;q=0, *"));
+		assertFalse(SnapshotResponses.acceptsGzip("*, gzip;q=0"));
+		assertTrue(SnapshotResponses.acceptsGzip("*;q=0, gzip"));
+	}
+}
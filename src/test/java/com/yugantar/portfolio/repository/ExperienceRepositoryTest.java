@@ -0,0 +1,70 @@
+package com.yugantar.portfolio.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.yugantar.portfolio.entity.ExperienceEntity;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ExperienceRepositoryTest {
+
+	@Autowired
+	private ExperienceRepository experienceRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void findAllLoadsSkillsWithoutAQueryPerExperience() {
+		persistExperiences(0, 2);
+		long fewRows = statementsToLoadAll(2);
+
+		persistExperiences(2, 20);
+		long manyRows = statementsToLoadAll(20);
+
+		assertTrue(fewRows <= 2, "Loading 2 experiences took " + fewRows + " statements");
+		assertEquals(fewRows, manyRows, "Statement count grew with the number of experiences");
+	}
+
+	private void persistExperiences(int from, int to) {
+		for (int i = from; i < to; i++) {
+			LocalDate start = LocalDate.of(2000, 1, 1).plusYears(i);
+			entityManager.persist(ExperienceEntity.builder().companyName("Company " + i).role("Developer")
+					.startDate(start).endDate(start.plusMonths(6)).skills(List.of("Java", "SQL " + i)).build());
+		}
+		entityManager.flush();
+	}
+
+	/**
+	 * Load every experience and its skills from the database, bypassing the
+	 * persistence context and the second-level cache
+	 */
+	private long statementsToLoadAll(int expectedRows) {
+		entityManager.clear();
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+		Statistics statistics = sessionFactory.getStatistics();
+		statistics.clear();
+
+		List<ExperienceEntity> experiences = experienceRepository.findAll();
+		experiences.forEach(experience -> assertEquals(2, experience.getSkills().size()));
+
+		assertEquals(expectedRows, experiences.size());
+		return statistics.getPrepareStatementCount();
+	}
+}
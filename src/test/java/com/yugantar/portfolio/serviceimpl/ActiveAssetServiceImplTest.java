@@ -0,0 +1,113 @@
+package com.yugantar.portfolio.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.yugantar.portfolio.entity.ActiveAssetEntity;
+import com.yugantar.portfolio.entity.AssetType;
+import com.yugantar.portfolio.repository.ActiveAssetRepository;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+// Each activation commits on its own thread, as concurrent requests would
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActiveAssetServiceImplTest {
+
+	@Autowired
+	private ActiveAssetRepository activeAssetRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void createPointer() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		activeAssetRepository.saveAndFlush(
+				ActiveAssetEntity.builder().assetType(AssetType.RESUME).assetId(1L).version(0).build());
+	}
+
+	@AfterEach
+	void deletePointer() {
+		activeAssetRepository.deleteAll();
+	}
+
+	@Test
+	void racingActivationsLetExactlyOneWin() throws Exception {
+		// Both activations read the pointer before either writes it
+		CyclicBarrier bothRead = new CyclicBarrier(2);
+		ActiveAssetRepository racing = (ActiveAssetRepository) Proxy.newProxyInstance(
+				ActiveAssetRepository.class.getClassLoader(), new Class<?>[] { ActiveAssetRepository.class },
+				(proxy, method, args) -> {
+					Object result;
+					try {
+						result = method.invoke(activeAssetRepository, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+					if (method.getName().equals("findPointer")) {
+						bothRead.await(10, TimeUnit.SECONDS);
+					}
+					return result;
+				});
+		ActiveAssetServiceImpl service = new ActiveAssetServiceImpl(racing, jdbcTemplate, transactionTemplate);
+
+		ExecutorService threads = Executors.newFixedThreadPool(2);
+		List<Future<Long>> activations = new ArrayList<>();
+		try {
+			for (long assetId : new long[] { 2L, 3L }) {
+				activations.add(threads.submit(
+						() -> transactionTemplate.execute(status -> service.activate(AssetType.RESUME, assetId))));
+			}
+
+			List<Long> winners = new ArrayList<>();
+			List<Throwable> losers = new ArrayList<>();
+			for (int i = 0; i < activations.size(); i++) {
+				try {
+					activations.get(i).get(30, TimeUnit.SECONDS);
+					winners.add(i == 0 ? 2L : 3L);
+				} catch (ExecutionException e) {
+					losers.add(e.getCause());
+				}
+			}
+
+			assertEquals(1, winners.size(), "Exactly one activation should win");
+			assertEquals(1, losers.size());
+			assertInstanceOf(OptimisticLockingFailureException.class, losers.get(0));
+
+			ActiveAssetEntity pointer = activeAssetRepository.findPointer(AssetType.RESUME).orElseThrow();
+			assertEquals(winners.get(0), pointer.getAssetId());
+			assertEquals(1, pointer.getVersion());
+		} finally {
+			threads.shutdownNow();
+			assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.yugantar.portfolio.serviceimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.yugantar.portfolio.dto.ProfilePhotoUploadResponse;
+import com.yugantar.portfolio.entity.AssetType;
+import com.yugantar.portfolio.repository.ProfilePhotoRepository;
+import com.yugantar.portfolio.service.ActiveAssetService;
+import com.yugantar.portfolio.service.ProfilePhotoService;
+import com.yugantar.portfolio.service.ProfilePhotoVariantService;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:photo-rollback;MODE=MySQL",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.datasource.username=sa",
+		"spring.datasource.password=", "spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"storage.local.root-dir=target/test-blobs/photo-rollback",
+		"storage.upload.temp-dir=target/test-uploads/photo-rollback" })
+class ProfilePhotoUploadRollbackTest {
+
+	private static final Path BLOB_ROOT = Path.of("target/test-blobs/photo-rollback");
+
+	@Autowired
+	private ProfilePhotoService profilePhotoService;
+
+	@Autowired
+	private ProfilePhotoRepository profilePhotoRepository;
+
+	@Autowired
+	private ActiveAssetService activeAssetService;
+
+	@MockitoBean
+	private ProfilePhotoVariantService profilePhotoVariantService;
+
+	// Blobs are content addressed, so one left by an earlier run would be
+	// reused rather than written, and not cleaned up by the rollback
+	@BeforeEach
+	void clearBlobs() throws IOException {
+		if (Files.exists(BLOB_ROOT)) {
+			try (Stream<Path> files = Files.walk(BLOB_ROOT)) {
+				for (Path file : files.filter(Files::isRegularFile).toList()) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	@Test
+	void failedVariantsLeaveNoRowOrBlobBehind() throws IOException {
+		when(profilePhotoVariantService.createVariants(anyLong(), any(), anyString(), anyLong()))
+				.thenThrow(new UncheckedIOException(new IOException("disk full")));
+
+		ProfilePhotoUploadResponse response = profilePhotoService
+				.uploadProfilePhoto(new MockMultipartFile("file", "me.png", "image/png", png(300, 200)));
+
+		assertFalse(response.isSuccess());
+		assertEquals("INTERNAL_ERROR", response.getErrorCode());
+		assertEquals(0, profilePhotoRepository.count(), "The photo row, placeholder included, was committed");
+		assertNull(activeAssetService.getActiveId(AssetType.PROFILE_PHOTO));
+		assertEquals(0, storedBlobs(), "Blobs written by the failed upload were kept");
+	}
+
+	private static byte[] png(int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.ORANGE);
+		graphics.fillRect(0, 0, width, height / 2);
+		graphics.setColor(Color.BLUE);
+		graphics.fillRect(0, height / 2, width, height - height / 2);
+		graphics.dispose();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+
+	private static long storedBlobs() throws IOException {
+		try (Stream<Path> files = Files.walk(BLOB_ROOT)) {
+			return files.filter(Files::isRegularFile)
+					.filter(file -> !file.startsWith(BLOB_ROOT.resolve("tmp"))).count();
+		}
+	}
+}
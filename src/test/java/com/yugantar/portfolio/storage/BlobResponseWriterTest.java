@@ -0,0 +1,179 @@
+package com.yugantar.portfolio.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.yugantar.portfolio.cache.BlobBufferCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BlobResponseWriterTest {
+
+	private static final String ETAG = "\"v1\"";
+
+	@TempDir
+	private Path root;
+
+	private BlobBufferCache bufferCache;
+	private BlobResponseWriter writer;
+	private byte[] content;
+	private String key;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		BlobStore blobStore = new LocalFileSystemBlobStore(root.toString());
+		bufferCache = new BlobBufferCache(blobStore, new SyncTaskExecutor(), new SimpleMeterRegistry(),
+				DataSize.ofKilobytes(64), DataSize.ofKilobytes(16));
+		writer = new BlobResponseWriter(blobStore, bufferCache);
+
+		content = new byte[100];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		key = blobStore.put(new ByteArrayInputStream(content)).key();
+	}
+
+	@Test
+	void withoutRangeTheWholeBlobIsSent() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = write(null, null);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+		assertEquals(100, response.getHeaders().getContentLength());
+		assertArrayEquals(content, body(response));
+	}
+
+	@Test
+	void suffixRangeSendsTheLastBytes() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = write("bytes=-10", null);
+
+		assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+		assertEquals("bytes 90-99/100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+		assertEquals(10, response.getHeaders().getContentLength());
+		assertArrayEquals(Arrays.copyOfRange(content, 90, 100), body(response));
+	}
+
+	@Test
+	void suffixLongerThanTheBlobSendsAllOfIt() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = write("bytes=-500", null);
+
+		assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+		assertEquals("bytes 0-99/100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+		assertArrayEquals(content, body(response));
+	}
+
+	@Test
+	void openEndedRangeRunsToTheEnd() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = write("bytes=95-", null);
+
+		assertEquals("bytes 95-99/100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+		assertArrayEquals(Arrays.copyOfRange(content, 95, 100), body(response));
+	}
+
+	@Test
+	void rangePastTheEndIsNotSatisfiable() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = write("bytes=100-200", null);
+
+		assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+		assertEquals("bytes */100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+		assertNull(response.getBody());
+	}
+
+	@Test
+	void overlappingRangesLargerThanTheBlobAreCoalesced() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = write("bytes=0-79,20-99,50-59", null);
+
+		assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+		assertEquals("bytes 0-99/100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+		assertArrayEquals(content, body(response));
+	}
+
+	@Test
+	void disjointRangesAreSentAsMultipart() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = write("bytes=50-59,0-4", null);
+
+		assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+		MediaType contentType = response.getHeaders().getContentType();
+		assertEquals("multipart", contentType.getType());
+		assertEquals("byteranges", contentType.getSubtype());
+
+		byte[] body = body(response);
+		assertEquals(response.getHeaders().getContentLength(), body.length);
+		String text = new String(body, StandardCharsets.ISO_8859_1);
+		int first = text.indexOf("Content-Range: bytes 0-4/100");
+		int second = text.indexOf("Content-Range: bytes 50-59/100");
+		assertTrue(first >= 0 && second > first, text);
+		assertTrue(text.contains(new String(Arrays.copyOfRange(content, 50, 60), StandardCharsets.ISO_8859_1)));
+	}
+
+	@Test
+	void staleIfRangeFallsBackToTheWholeBlob() throws IOException {
+		assertEquals(HttpStatus.OK, write("bytes=0-9", "\"v0\"").getStatusCode());
+		assertEquals(HttpStatus.OK, write("bytes=0-9", "W/\"v1\"").getStatusCode());
+		assertEquals(HttpStatus.PARTIAL_CONTENT, write("bytes=0-9", ETAG).getStatusCode());
+	}
+
+	@Test
+	void malformedRangeIsIgnored() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = write("items=0-9", null);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertArrayEquals(content, body(response));
+	}
+
+	@Test
+	void blobIsCachedOnTheSecondDownloadOnly() throws IOException {
+		body(write("bytes=0-9", null));
+		body(write("bytes=0-9", null));
+		assertEquals(0, bufferCache.stats().entries());
+
+		body(write(null, null));
+		assertEquals(0, bufferCache.stats().entries());
+		body(write(null, null));
+		assertEquals(1, bufferCache.stats().entries());
+
+		ResponseEntity<StreamingResponseBody> response = write("bytes=-10", null);
+		assertArrayEquals(Arrays.copyOfRange(content, 90, 100), body(response));
+		assertEquals(1, bufferCache.stats().hits());
+	}
+
+	private ResponseEntity<StreamingResponseBody> write(String range, String ifRange) throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resume/download");
+		if (range != null) {
+			request.addHeader(HttpHeaders.RANGE, range);
+		}
+		if (ifRange != null) {
+			request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+		}
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_PDF);
+		return writer.write(key, ETAG, headers, request);
+	}
+
+	private static byte[] body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+		return out.toByteArray();
+	}
+}
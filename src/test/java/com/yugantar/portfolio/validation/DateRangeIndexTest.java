@@ -0,0 +1,67 @@
+package com.yugantar.portfolio.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class DateRangeIndexTest {
+
+	private static final LocalDate TODAY = LocalDate.now();
+
+	private final DateRangeIndex<String> index = new DateRangeIndex<>();
+
+	@Test
+	void touchingBoundsOverlapBecauseBothEndsAreInclusive() {
+		index.add(date(2020, 1, 1), date(2020, 6, 30), "first");
+
+		assertEquals("first", index.findOverlap(date(2020, 6, 30), date(2020, 12, 31)));
+		assertEquals("first", index.findOverlap(date(2019, 1, 1), date(2020, 1, 1)));
+		assertNull(index.findOverlap(date(2020, 7, 1), date(2020, 12, 31)));
+		assertNull(index.findOverlap(date(2019, 1, 1), date(2019, 12, 31)));
+	}
+
+	@Test
+	void equalStartOverlaps() {
+		index.add(date(2020, 1, 1), date(2020, 1, 31), "short");
+
+		assertEquals("short", index.addIfDisjoint(date(2020, 1, 1), date(2021, 1, 1), "long"));
+		assertEquals("short", index.findOverlap(date(2020, 1, 15), date(2020, 1, 15)));
+	}
+
+	@Test
+	void currentRoleRunsUntilToday() {
+		index.add(date(2022, 3, 1), TODAY, "current");
+
+		assertEquals("current", index.findOverlap(TODAY, TODAY.plusYears(1)));
+		assertEquals("current", index.findOverlap(date(2023, 1, 1), date(2023, 6, 30)));
+		assertNull(index.findOverlap(TODAY.plusDays(1), TODAY.plusYears(1)));
+	}
+
+	@Test
+	void rangeInsideAnOverlappingStoredRowIsFound() {
+		// Legacy rows: the long role overlaps the later short one
+		index.add(date(2010, 1, 1), date(2020, 12, 31), "long");
+		index.add(date(2015, 1, 1), date(2015, 6, 30), "short");
+
+		// The latest range starting before this one is "short", which ends too early
+		assertEquals("long", index.findOverlap(date(2018, 1, 1), date(2018, 6, 30)));
+	}
+
+	@Test
+	void addIfDisjointKeepsBatchEntriesApart() {
+		assertNull(index.addIfDisjoint(date(2018, 1, 1), date(2018, 12, 31), "a"));
+		assertNull(index.addIfDisjoint(date(2016, 1, 1), date(2016, 12, 31), "b"));
+		assertNull(index.addIfDisjoint(date(2017, 1, 1), date(2017, 12, 31), "c"));
+
+		assertEquals("c", index.addIfDisjoint(date(2017, 6, 1), date(2017, 6, 30), "d"));
+		assertEquals("b", index.findOverlap(date(2015, 1, 1), date(2016, 1, 1)));
+		assertNull(index.findOverlap(date(2019, 1, 1), date(2019, 12, 31)));
+	}
+
+	private static LocalDate date(int year, int month, int day) {
+		return LocalDate.of(year, month, day);
+	}
+}